@@ -0,0 +1,103 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.projeto.aeroportos.ApiAeroportosApplication;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoResumo;
+import com.projeto.aeroportos.repository.AeroportoLoteRepository;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Caminhos quentes do AeroportoService com o contexto Spring completo e H2 em memória.
+// 17.000 linhas é o mais perto de "tabela cheia" que os códigos IATA de 3 letras permitem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AeroportoServiceBenchmark {
+
+    // Código fora da faixa gerada, usado pelo benchmark de criação
+    private static final String CODIGO_NOVO = "ZZZ";
+
+    private static final List<String> CAMPOS_RESUMO = List.of("codigoIata", "nome", "cidade");
+
+    @Param({"10", "1000", "17000"})
+    public int linhas;
+
+    private ConfigurableApplicationContext contexto;
+    private AeroportoService aeroportoService;
+    private AeroportoRepository aeroportoRepository;
+    private String[] codigos;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ApiAeroportosApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run();
+        aeroportoService = contexto.getBean(AeroportoService.class);
+        aeroportoRepository = contexto.getBean(AeroportoRepository.class);
+
+        // inserirTodos exige transação (como no serviço e na importação)
+        List<Aeroporto> aeroportos = DadosBenchmark.gerar(linhas);
+        AeroportoLoteRepository aeroportoLoteRepository = contexto.getBean(AeroportoLoteRepository.class);
+        new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> aeroportoLoteRepository.inserirTodos(aeroportos));
+        codigos = aeroportos.stream().map(Aeroporto::getCodigoIata).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private String proximoCodigo() {
+        String codigo = codigos[proximo];
+        proximo = (proximo + 1) % codigos.length;
+        return codigo;
+    }
+
+    // Com o cache IATA aquecido
+    @Benchmark
+    public Aeroporto buscarPorIata() {
+        return aeroportoService.buscarPorIata(proximoCodigo());
+    }
+
+    // Mesmo caminho direto no repositório (linha de base sem cache)
+    @Benchmark
+    public Optional<Aeroporto> buscarPorIataNoBanco() {
+        return aeroportoRepository.findByCodigoIata(proximoCodigo());
+    }
+
+    @Benchmark
+    public List<Aeroporto> listarTodos() {
+        return aeroportoService.listarTodos();
+    }
+
+    // Projeção de três campos (compare a alocação com -prof gc)
+    @Benchmark
+    public List<AeroportoResumo> listarResumos() {
+        return aeroportoService.listarResumos(CAMPOS_RESUMO);
+    }
+
+    // criar + deletar para manter o tamanho da tabela constante entre as invocações
+    @Benchmark
+    public Aeroporto criarEDeletar() {
+        Aeroporto criado = aeroportoService.criar(
+                new Aeroporto("Aeroporto Novo", CODIGO_NOVO, "Cidade", "BR", -23.5, -46.6, 760.0));
+        aeroportoService.deletar(CODIGO_NOVO);
+        return criado;
+    }
+}
@@ -0,0 +1,35 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.projeto.aeroportos.busca.IndiceBusca;
+import com.projeto.aeroportos.dto.AeroportoEncontrado;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Busca por prefixo no IndiceBusca com a tabela cheia. "aero" casa com todos os nomes
+// sintéticos (pior caso: ordena 17.000 candidatos); os demais são consultas típicas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BuscaBenchmark {
+
+    @Param({"abc", "cidade 12", "aero"})
+    private String consulta;
+
+    private IndiceBusca indice;
+
+    @Setup
+    public void preparar() {
+        indice = new IndiceBusca();
+        indice.carregar(DadosBenchmark.gerar(17_000));
+    }
+
+    @Benchmark
+    public List<AeroportoEncontrado> buscar() {
+        return indice.buscar(consulta, 10);
+    }
+}
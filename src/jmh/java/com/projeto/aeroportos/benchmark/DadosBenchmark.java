@@ -0,0 +1,40 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Gera aeroportos sintéticos com códigos IATA distintos (AAA, AAB, ...).
+// Há no máximo 26³ = 17.576 códigos, então esse é o teto de linhas da tabela
+final class DadosBenchmark {
+
+    static final String[] PAISES = {"BR", "US", "GB", "FR", "DE", "JP", "AR", "PT"};
+
+    private DadosBenchmark() {
+    }
+
+    static String codigo(int indice) {
+        char[] letras = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letras[i] = (char) ('A' + indice % 26);
+            indice /= 26;
+        }
+        return new String(letras);
+    }
+
+    static List<Aeroporto> gerar(int quantidade) {
+        List<Aeroporto> aeroportos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            aeroportos.add(new Aeroporto(
+                    "Aeroporto Internacional de Teste " + i,
+                    codigo(i),
+                    "Cidade " + (i % 500),
+                    PAISES[i % PAISES.length],
+                    -90 + (i * 0.0102) % 180,
+                    -180 + (i * 0.0204) % 360,
+                    (double) (i % 3000)));
+        }
+        return aeroportos;
+    }
+}
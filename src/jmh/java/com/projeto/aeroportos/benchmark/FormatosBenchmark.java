@@ -0,0 +1,76 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.projeto.aeroportos.config.AeroportoProtobufHttpMessageConverter;
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Codificação e decodificação da lista de aeroportos em cada formato da API.
+// O tamanho do payload de cada formato é impresso no início de cada trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormatosBenchmark {
+
+    private static final Type LISTA_AEROPORTOS = new ParameterizedTypeReference<List<Aeroporto>>() { }.getType();
+    private static final TypeReference<List<Aeroporto>> LISTA_JACKSON = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String formato;
+
+    @Param({"1000", "17000"})
+    public int linhas;
+
+    private final AeroportoProtobufHttpMessageConverter protobuf = new AeroportoProtobufHttpMessageConverter();
+    private ObjectMapper objectMapper;
+    private List<Aeroporto> aeroportos;
+    private byte[] codificado;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        aeroportos = DadosBenchmark.gerar(linhas);
+        for (int i = 0; i < aeroportos.size(); i++) {
+            aeroportos.get(i).setId(i + 1L);
+            aeroportos.get(i).setVersao(0L);
+        }
+        objectMapper = switch (formato) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        codificado = codificar();
+        System.out.printf("%n%s com %d aeroportos: %d bytes%n", formato, linhas, codificado.length);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        if (formato.equals("protobuf")) {
+            MockHttpOutputMessage saida = new MockHttpOutputMessage();
+            protobuf.write(aeroportos, LISTA_AEROPORTOS, AeroportoProtobufHttpMessageConverter.APPLICATION_PROTOBUF, saida);
+            return saida.getBodyAsBytes();
+        }
+        return objectMapper.writeValueAsBytes(aeroportos);
+    }
+
+    @Benchmark
+    public Object decodificar() throws IOException {
+        if (formato.equals("protobuf")) {
+            return protobuf.read(LISTA_AEROPORTOS, null, new MockHttpInputMessage(codificado));
+        }
+        return objectMapper.readValue(codificado, LISTA_JACKSON);
+    }
+}
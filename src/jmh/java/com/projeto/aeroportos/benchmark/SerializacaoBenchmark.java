@@ -0,0 +1,35 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização JSON (Jackson) de listas de Aeroporto, como no GET /api/v1/aeroportos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "1000", "17000"})
+    public int linhas;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Aeroporto> aeroportos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        aeroportos = DadosBenchmark.gerar(linhas);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(aeroportos);
+    }
+}
@@ -0,0 +1,127 @@
+package com.projeto.aeroportos.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Tempo de subida: inicia a aplicação N vezes num processo novo (perfil prod, banco em arquivo
+// novo a cada vez, como uma instância recém-criada pelo autoscaling) e mede do início do processo
+// até o primeiro 200 em GET /api/v1/aeroportos/GRU. Só usa o JDK, então roda direto do fonte:
+//
+//   java src/jmh/java/com/projeto/aeroportos/benchmark/TempoInicio.java \
+//        target/api-aeroportos-1.0.0.jar 5
+//
+// Os argumentos depois das repetições vão para a JVM da aplicação, por exemplo para medir o
+// build do perfil Maven inicio-rapido (AOT + CDS):
+//
+//   java src/jmh/java/com/projeto/aeroportos/benchmark/TempoInicio.java \
+//        target/inicio-rapido/api-aeroportos-1.0.0-inicio-rapido.jar 5 \
+//        -XX:SharedArchiveFile=target/inicio-rapido/api-aeroportos.jsa -Dspring.aot.enabled=true
+//
+// O processo é encerrado com SIGTERM, então -XX:ArchiveClassesAtExit também funciona aqui (é
+// assim que o perfil inicio-rapido treina o arquivo CDS, incluindo as classes da primeira requisição)
+public class TempoInicio {
+
+    private static final Duration TEMPO_MAXIMO = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: TempoInicio <jar> [repeticoes=5] [opcoes da JVM...]");
+            System.exit(1);
+        }
+        Path jar = Path.of(args[0]);
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<String> opcoesJvm = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : List.of();
+
+        HttpClient cliente = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+        long[] tempos = new long[repeticoes];
+        for (int i = 0; i < repeticoes; i++) {
+            tempos[i] = medir(cliente, jar, opcoesJvm);
+            System.out.printf("Subida %d: %d ms%n", i + 1, tempos[i]);
+        }
+
+        Arrays.sort(tempos);
+        System.out.printf("Até o primeiro GET /GRU com sucesso (%d subidas): mín %d ms, mediana %d ms, máx %d ms%n",
+            repeticoes, tempos[0], tempos[repeticoes / 2], tempos[repeticoes - 1]);
+    }
+
+    private static long medir(HttpClient cliente, Path jar, List<String> opcoesJvm) throws Exception {
+        Path dados = Files.createTempDirectory("tempo-inicio");
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoesJvm);
+        comando.addAll(List.of("-jar", jar.toString(),
+            "--spring.profiles.active=prod",
+            "--spring.datasource.url=jdbc:h2:file:" + dados.resolve("aeroportos").toAbsolutePath(),
+            "--server.port=" + porta));
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + porta + "/api/v1/aeroportos/GRU"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+            .redirectOutput(dados.resolve("saida.log").toFile())
+            .redirectErrorStream(true)
+            .start();
+        try {
+            while (true) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou antes de responder:\n"
+                        + Files.readString(dados.resolve("saida.log")));
+                }
+                if (System.nanoTime() - inicio > TEMPO_MAXIMO.toNanos()) {
+                    throw new IllegalStateException("Sem resposta em " + TEMPO_MAXIMO);
+                }
+                try {
+                    if (cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Porta ainda fechada
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(1, TimeUnit.MINUTES)) {
+                processo.destroyForcibly();
+            }
+            apagar(dados);
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> {
+                try {
+                    Files.delete(arquivo);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.projeto.aeroportos.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Teste de carga HTTP em laço fechado: mantém N requisições em andamento contra uma URL
+// e mede throughput e latência (p50/p99/p999). Só usa o JDK, então roda direto do fonte:
+//
+//   java src/jmh/java/com/projeto/aeroportos/benchmark/TesteCargaHttp.java \
+//        http://localhost:8080/api/v1/aeroportos/GRU 1000 30
+//
+// Para comparar, rode uma vez com a aplicação no modo padrão (pool de 200 threads do Tomcat)
+// e outra com o perfil virtual-threads, usando uma concorrência bem acima de 200.
+public class TesteCargaHttp {
+
+    // Histograma com resolução de 10 µs até 10 s (o último balde acumula o que passar disso)
+    private static final int MICROS_POR_BALDE = 10;
+    private static final int TOTAL_BALDES = 1_000_000;
+
+    private final AtomicLongArray baldes = new AtomicLongArray(TOTAL_BALDES);
+    private final LongAdder sucessos = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Uso: TesteCargaHttp <url> [concorrencia=500] [segundos=30] [aquecimentoSegundos=5]");
+            System.exit(1);
+        }
+        URI url = URI.create(args[0]);
+        int concorrencia = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int aquecimento = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("Aquecimento: %d s com %d requisições simultâneas%n", aquecimento, concorrencia);
+        new TesteCargaHttp().executar(cliente, url, concorrencia, aquecimento);
+
+        System.out.printf("Medição: %d s com %d requisições simultâneas em %s%n", segundos, concorrencia, url);
+        TesteCargaHttp medicao = new TesteCargaHttp();
+        long inicio = System.nanoTime();
+        medicao.executar(cliente, url, concorrencia, segundos);
+        medicao.imprimir((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private void executar(HttpClient cliente, URI url, int concorrencia, int segundos) throws InterruptedException {
+        HttpRequest requisicao = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET().build();
+        Semaphore vagas = new Semaphore(concorrencia);
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+
+        while (System.nanoTime() < fim) {
+            vagas.acquire();
+            long enviadoEm = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        if (erro == null && resposta.statusCode() < 500) {
+                            registrar(System.nanoTime() - enviadoEm);
+                        } else {
+                            erros.increment();
+                        }
+                        vagas.release();
+                    });
+        }
+        // Espera as requisições em andamento terminarem
+        vagas.acquire(concorrencia);
+    }
+
+    private void registrar(long nanos) {
+        int balde = (int) Math.min(TOTAL_BALDES - 1, nanos / 1000 / MICROS_POR_BALDE);
+        baldes.incrementAndGet(balde);
+        sucessos.increment();
+    }
+
+    private void imprimir(double segundosDecorridos) {
+        long total = sucessos.sum();
+        System.out.printf("Requisições: %d ok, %d erros%n", total, erros.sum());
+        System.out.printf("Throughput: %.1f req/s%n", total / segundosDecorridos);
+        if (total == 0) {
+            return;
+        }
+        System.out.printf("Latência p50: %.2f ms | p99: %.2f ms | p999: %.2f ms | máx: %.2f ms%n",
+                percentilMs(total, 0.5), percentilMs(total, 0.99), percentilMs(total, 0.999), percentilMs(total, 1.0));
+    }
+
+    private double percentilMs(long total, double percentil) {
+        long alvo = (long) Math.ceil(total * percentil);
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            acumulado += baldes.get(i);
+            if (acumulado >= alvo) {
+                return (i + 1) * MICROS_POR_BALDE / 1000.0;
+            }
+        }
+        return TOTAL_BALDES * MICROS_POR_BALDE / 1000.0;
+    }
+}
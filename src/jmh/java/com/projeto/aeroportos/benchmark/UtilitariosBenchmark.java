@@ -0,0 +1,34 @@
+package com.projeto.aeroportos.benchmark;
+
+import com.projeto.aeroportos.service.AeroportoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Métodos estáticos de conversão do AeroportoService
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UtilitariosBenchmark {
+
+    private static final String[] PAISES = {"Brazil", "United States", "Reino Unido", "Japão", "País Inexistente"};
+
+    // Não final: evita que o JIT trate a entrada como constante
+    private double pes = 1234.5;
+    private int proximo;
+
+    @Benchmark
+    public double converterPesParaMetros() {
+        return AeroportoService.converterPesParaMetros(pes);
+    }
+
+    @Benchmark
+    public String obterIsoPais() {
+        String pais = PAISES[proximo];
+        proximo = (proximo + 1) % PAISES.length;
+        return AeroportoService.obterIsoPais(pais);
+    }
+}
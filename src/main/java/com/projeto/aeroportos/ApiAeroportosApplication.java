@@ -2,8 +2,11 @@ package com.projeto.aeroportos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// Sem R2dbcAutoConfiguration: o pool R2DBC da API reativa é criado pelo
+// AeroportoReativoRepository a partir do mesmo spring.datasource.url do JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ApiAeroportosApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApiAeroportosApplication.class, args);
@@ -0,0 +1,551 @@
+package com.projeto.aeroportos.busca;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoEncontrado;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import com.projeto.aeroportos.evento.AeroportosImportadosEvent;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Índice de prefixos em memória para a busca "enquanto digita" por nome, cidade e IATA,
+// sem acentos e por prefixo de palavra.
+//
+// As consultas usam uma foto imutável em arrays ordenados: cada aeroporto recebe uma posição
+// na ordem de desempate (nome mais curto, depois IATA) e cada palavra guarda as posições dos
+// aeroportos que a contêm, em ordem crescente. Assim cada faixa de relevância é uma faixa
+// contígua de um array ordenado, e a última (palavras) é percorrida em ordem de posição e
+// para assim que enche o limite.
+//
+// Como o IndiceEspacial, é carregado do banco na primeira consulta e mantido pelos eventos de
+// alteração depois do commit. As consultas nunca esperam uma remontagem: cada alteração vai para
+// um pequeno conjunto de pendentes, que as consultas aplicam por cima da foto (os códigos alterados
+// saem da foto e as versões novas são conferidas uma a uma), e a foto nova é montada no executor
+// da aplicação e trocada de uma vez. Alterações que chegam durante uma remontagem viram uma única
+// remontagem seguinte.
+@Component
+public class IndiceBusca {
+
+    public static final int LIMITE_MAXIMO = 50;
+
+    // Relevância por tipo de casamento (a maior vale)
+    static final int IATA_EXATO = 100;
+    static final int IATA_PREFIXO = 80;
+    static final int CIDADE_PREFIXO = 60;
+    static final int NOME_PREFIXO = 50;
+    static final int PALAVRA_EXATA = 40;
+    static final int PALAVRA_PREFIXO = 30;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Ordem de desempate dentro de uma mesma relevância
+    private static final Comparator<Entrada> ORDEM = Comparator
+            .<Entrada>comparingInt(e -> e.aeroporto().getNome().length())
+            .thenComparing(e -> e.aeroporto().getCodigoIata());
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Sem executor (índice criado fora do Spring) a remontagem roda na própria alteração
+    @Autowired(required = false)
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    // Protege porCodigo e as trocas de estado; as consultas não o usam
+    private final ReentrantLock trava = new ReentrantLock();
+    // Uma remontagem por vez
+    private final ReentrantLock travaRemontagem = new ReentrantLock();
+    private final AtomicBoolean remontagemAgendada = new AtomicBoolean();
+    private final Map<String, Entrada> porCodigo = new HashMap<>();
+    private volatile Estado estado = new Estado(montarFoto(new Entrada[0]), Map.of());
+    private volatile boolean carregado = false;
+
+    // Aeroporto com os textos já normalizados; palavras em ordem alfabética e sem repetição
+    private record Entrada(Aeroporto aeroporto, String iata, String nome, String cidade, String[] palavras) {
+    }
+
+    // Arrays paralelos: textos[i] em ordem alfabética, posicoes[i] é a posição do aeroporto
+    private record Ordenados(String[] textos, int[] posicoes) {
+    }
+
+    private record Foto(Entrada[] entradas, String[] palavras, int[][] posicoesPorPalavra,
+                        Ordenados iatas, Ordenados cidades, Ordenados nomes) {
+    }
+
+    // Foto mais as alterações que ela ainda não tem, por código (null = removido)
+    private record Estado(Foto foto, Map<String, Entrada> pendentes) {
+    }
+
+    // Aeroportos cujas palavras começam com todos os termos de q, do mais ao menos relevante
+    public List<AeroportoEncontrado> buscar(String q, int limite) {
+        List<String> termos = q == null ? List.of() : palavras(q);
+        if (termos.isEmpty()) {
+            throw new IllegalArgumentException("O parâmetro q deve ter ao menos uma letra ou dígito.");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        garantirCarregado();
+        Estado estadoAtual = estado;
+        Foto atual = estadoAtual.foto();
+        String consulta = String.join(" ", termos);
+        Selecao selecao = new Selecao(atual, limite, estadoAtual.pendentes().keySet());
+
+        if (termos.size() == 1 && consulta.length() <= 3) {
+            int[] faixa = faixa(atual.iatas().textos(), consulta);
+            for (int i = faixa[0]; i < faixa[1] && atual.iatas().textos()[i].equals(consulta); i++) {
+                selecao.adicionar(atual.iatas().posicoes()[i], IATA_EXATO);
+            }
+            selecao.adicionarMenores(atual.iatas(), faixa, IATA_PREFIXO);
+        }
+        selecao.adicionarMenores(atual.cidades(), faixa(atual.cidades().textos(), consulta), CIDADE_PREFIXO);
+        selecao.adicionarMenores(atual.nomes(), faixa(atual.nomes().textos(), consulta), NOME_PREFIXO);
+        adicionarPalavrasExatas(atual, termos, selecao);
+        adicionarPalavrasPorPrefixo(atual, termos, selecao);
+        if (estadoAtual.pendentes().isEmpty()) {
+            return selecao.encontrados();
+        }
+        return comPendentes(selecao.encontrados(), estadoAtual.pendentes(), termos, consulta, limite);
+    }
+
+    // Substitui todo o conteúdo do índice
+    public void carregar(Collection<Aeroporto> aeroportos) {
+        trava.lock();
+        try {
+            porCodigo.clear();
+            aeroportos.forEach(aeroporto -> adicionar(new Aeroporto(aeroporto)));
+            estado = new Estado(montarFoto(porCodigo.values().toArray(Entrada[]::new)), Map.of());
+            carregado = true;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AeroportoAlteradoEvent evento) {
+        trava.lock();
+        try {
+            // Antes da primeira carga não há o que manter: a carga lerá o estado já commitado
+            if (!carregado) {
+                return;
+            }
+            porCodigo.remove(evento.codigoIata());
+            if (evento.aeroporto() != null) {
+                adicionar(evento.aeroporto());
+            }
+            Map<String, Entrada> pendentes = new HashMap<>(estado.pendentes());
+            pendentes.put(evento.codigoIata(), porCodigo.get(evento.codigoIata()));
+            estado = new Estado(estado.foto(), Collections.unmodifiableMap(pendentes));
+        } finally {
+            trava.unlock();
+        }
+        agendarRemontagem();
+    }
+
+    // Uma importação recarrega o índice inteiro do banco, uma vez. Com a trava, para nenhuma
+    // alteração commitada durante a leitura se perder; as consultas seguem na foto anterior
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportar(AeroportosImportadosEvent evento) {
+        trava.lock();
+        try {
+            if (carregado) {
+                carregarDoBanco();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Minúsculas sem acentos, para "sao" casar com "São"
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> palavras(String texto) {
+        List<String> palavras = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(normalizar(texto))) {
+            if (!palavra.isEmpty()) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+
+    // Junta ao resultado da foto (que já deixou de fora os códigos pendentes) as versões novas
+    // que casam com a consulta, na mesma ordem: relevância e depois desempate
+    private static List<AeroportoEncontrado> comPendentes(List<AeroportoEncontrado> daFoto, Map<String, Entrada> pendentes,
+                                                          List<String> termos, String consulta, int limite) {
+        List<AeroportoEncontrado> todos = new ArrayList<>(daFoto);
+        for (Entrada entrada : pendentes.values()) {
+            if (entrada == null) {
+                continue;
+            }
+            int relevancia = relevancia(entrada, termos, consulta);
+            if (relevancia > 0) {
+                todos.add(new AeroportoEncontrado(entrada.aeroporto(), relevancia));
+            }
+        }
+        todos.sort(Comparator.comparingInt(AeroportoEncontrado::relevancia).reversed()
+                .thenComparingInt(e -> e.aeroporto().getNome().length())
+                .thenComparing(e -> e.aeroporto().getCodigoIata()));
+        return todos.size() > limite ? new ArrayList<>(todos.subList(0, limite)) : todos;
+    }
+
+    // A relevância que a consulta na foto daria à entrada (0 se não casa)
+    private static int relevancia(Entrada entrada, List<String> termos, String consulta) {
+        if (termos.size() == 1 && consulta.length() <= 3) {
+            if (entrada.iata().equals(consulta)) {
+                return IATA_EXATO;
+            }
+            if (entrada.iata().startsWith(consulta)) {
+                return IATA_PREFIXO;
+            }
+        }
+        if (entrada.cidade().startsWith(consulta)) {
+            return CIDADE_PREFIXO;
+        }
+        if (entrada.nome().startsWith(consulta)) {
+            return NOME_PREFIXO;
+        }
+        boolean todasExatas = true;
+        for (String termo : termos) {
+            if (Arrays.binarySearch(entrada.palavras(), termo) < 0) {
+                todasExatas = false;
+                break;
+            }
+        }
+        if (todasExatas) {
+            return PALAVRA_EXATA;
+        }
+        return contemTodos(entrada.palavras(), termos) ? PALAVRA_PREFIXO : 0;
+    }
+
+    // Aeroportos que têm exatamente cada termo como palavra (interseção das listas de posições)
+    private static void adicionarPalavrasExatas(Foto foto, List<String> termos, Selecao selecao) {
+        int[] comTodos = null;
+        for (String termo : termos) {
+            int indice = Arrays.binarySearch(foto.palavras(), termo);
+            if (indice < 0) {
+                return;
+            }
+            comTodos = comTodos == null ? foto.posicoesPorPalavra()[indice]
+                    : intersecao(comTodos, foto.posicoesPorPalavra()[indice]);
+        }
+        for (int posicao : comTodos) {
+            if (selecao.cheia()) {
+                return;
+            }
+            selecao.adicionar(posicao, PALAVRA_EXATA);
+        }
+    }
+
+    // Junta as listas de posições das palavras com o prefixo do termo mais seletivo, em ordem
+    // crescente de posição, conferindo os outros termos; para quando a seleção enche
+    private static void adicionarPalavrasPorPrefixo(Foto foto, List<String> termos, Selecao selecao) {
+        if (selecao.cheia()) {
+            return;
+        }
+        String guia = termos.get(0);
+        int[] faixaGuia = faixa(foto.palavras(), guia);
+        long menor = Long.MAX_VALUE;
+        for (String termo : termos) {
+            int[] faixa = faixa(foto.palavras(), termo);
+            long quantidade = 0;
+            for (int i = faixa[0]; i < faixa[1]; i++) {
+                quantidade += foto.posicoesPorPalavra()[i].length;
+            }
+            if (quantidade < menor) {
+                menor = quantidade;
+                guia = termo;
+                faixaGuia = faixa;
+            }
+        }
+
+        // Cursores {palavra, próximo índice} ordenados pela posição apontada
+        int[][] listas = foto.posicoesPorPalavra();
+        PriorityQueue<int[]> cursores = new PriorityQueue<>(Math.max(1, faixaGuia[1] - faixaGuia[0]),
+                Comparator.comparingInt(cursor -> listas[cursor[0]][cursor[1]]));
+        for (int i = faixaGuia[0]; i < faixaGuia[1]; i++) {
+            cursores.add(new int[] {i, 0});
+        }
+        int anterior = -1;
+        while (!cursores.isEmpty() && !selecao.cheia()) {
+            int[] cursor = cursores.poll();
+            int posicao = listas[cursor[0]][cursor[1]];
+            if (++cursor[1] < listas[cursor[0]].length) {
+                cursores.add(cursor);
+            }
+            // A mesma posição vem de cada palavra do aeroporto com o prefixo
+            if (posicao == anterior) {
+                continue;
+            }
+            anterior = posicao;
+            if (contemTodos(foto.entradas()[posicao].palavras(), termos)) {
+                selecao.adicionar(posicao, PALAVRA_PREFIXO);
+            }
+        }
+    }
+
+    // Resultado em construção: as relevâncias são adicionadas da maior para a menor e, dentro
+    // de cada uma, da menor para a maior posição, então a ordem de inserção já é a final
+    private static final class Selecao {
+
+        private final Foto foto;
+        private final int limite;
+        // Códigos com alteração pendente: a versão da foto está desatualizada
+        private final Set<String> ignorados;
+        private final List<AeroportoEncontrado> encontrados = new ArrayList<>();
+        private final Set<Integer> incluidas = new HashSet<>();
+
+        Selecao(Foto foto, int limite, Set<String> ignorados) {
+            this.foto = foto;
+            this.limite = limite;
+            this.ignorados = ignorados;
+        }
+
+        boolean cheia() {
+            return encontrados.size() >= limite;
+        }
+
+        boolean ignorada(int posicao) {
+            return !ignorados.isEmpty() && ignorados.contains(foto.entradas()[posicao].aeroporto().getCodigoIata());
+        }
+
+        void adicionar(int posicao, int relevancia) {
+            if (!cheia() && !ignorada(posicao) && incluidas.add(posicao)) {
+                encontrados.add(new AeroportoEncontrado(foto.entradas()[posicao].aeroporto(), relevancia));
+            }
+        }
+
+        // As menores posições da faixa ainda não incluídas, até encher
+        void adicionarMenores(Ordenados ordenados, int[] faixa, int relevancia) {
+            int vagas = limite - encontrados.size();
+            if (vagas <= 0 || faixa[0] >= faixa[1]) {
+                return;
+            }
+            // Heap de máximo com as vagas menores posições vistas até agora
+            PriorityQueue<Integer> menores = new PriorityQueue<>(vagas + 1, Comparator.reverseOrder());
+            for (int i = faixa[0]; i < faixa[1]; i++) {
+                int posicao = ordenados.posicoes()[i];
+                if (menores.size() == vagas && posicao >= menores.peek()) {
+                    continue;
+                }
+                if (incluidas.contains(posicao) || ignorada(posicao)) {
+                    continue;
+                }
+                menores.add(posicao);
+                if (menores.size() > vagas) {
+                    menores.poll();
+                }
+            }
+            Integer[] escolhidas = menores.toArray(Integer[]::new);
+            Arrays.sort(escolhidas);
+            for (int posicao : escolhidas) {
+                adicionar(posicao, relevancia);
+            }
+        }
+
+        List<AeroportoEncontrado> encontrados() {
+            return encontrados;
+        }
+    }
+
+    // Faixa [início, fim) dos textos que começam com o prefixo num array ordenado
+    private static int[] faixa(String[] ordenados, String prefixo) {
+        return new int[] {primeiroMaiorOuIgual(ordenados, prefixo),
+                primeiroMaiorOuIgual(ordenados, prefixo + Character.MAX_VALUE)};
+    }
+
+    private static int primeiroMaiorOuIgual(String[] ordenados, String chave) {
+        int inicio = 0;
+        int fim = ordenados.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (ordenados[meio].compareTo(chave) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private static int[] intersecao(int[] a, int[] b) {
+        int[] resultado = new int[Math.min(a.length, b.length)];
+        int quantidade = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                resultado[quantidade++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    private static boolean contemTodos(String[] palavras, List<String> termos) {
+        for (String termo : termos) {
+            boolean contem = false;
+            for (String palavra : palavras) {
+                if (palavra.startsWith(termo)) {
+                    contem = true;
+                    break;
+                }
+            }
+            if (!contem) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        trava.lock();
+        try {
+            if (!carregado) {
+                carregarDoBanco();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Com a trava. Transação própria: o índice só deve ver dados já commitados
+    private void carregarDoBanco() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setReadOnly(true);
+        carregar(transacao.execute(status -> aeroportoRepository.findAll()));
+    }
+
+    private void agendarRemontagem() {
+        if (remontagemAgendada.compareAndSet(false, true)) {
+            if (executor != null) {
+                executor.execute(this::remontar);
+            } else {
+                remontar();
+            }
+        }
+    }
+
+    // Monta a foto com o conteúdo atual fora da trava e troca o estado; as pendentes que
+    // chegaram durante a montagem continuam pendentes (e já agendaram a próxima remontagem)
+    private void remontar() {
+        travaRemontagem.lock();
+        try {
+            remontagemAgendada.set(false);
+            Entrada[] entradas;
+            Estado base;
+            trava.lock();
+            try {
+                entradas = porCodigo.values().toArray(Entrada[]::new);
+                base = estado;
+            } finally {
+                trava.unlock();
+            }
+            Foto nova = montarFoto(entradas);
+            trava.lock();
+            try {
+                if (estado.foto() != base.foto()) {
+                    // Um carregar substituiu tudo no meio da montagem
+                    return;
+                }
+                Map<String, Entrada> restantes = new HashMap<>(estado.pendentes());
+                base.pendentes().forEach((codigo, entrada) -> restantes.remove(codigo, entrada));
+                estado = new Estado(nova, Collections.unmodifiableMap(restantes));
+            } finally {
+                trava.unlock();
+            }
+        } finally {
+            travaRemontagem.unlock();
+        }
+    }
+
+    private static Foto montarFoto(Entrada[] entradas) {
+        Arrays.sort(entradas, ORDEM);
+
+        TreeMap<String, List<Integer>> posicoesPorPalavra = new TreeMap<>();
+        for (int posicao = 0; posicao < entradas.length; posicao++) {
+            for (String palavra : entradas[posicao].palavras()) {
+                posicoesPorPalavra.computeIfAbsent(palavra, p -> new ArrayList<>()).add(posicao);
+            }
+        }
+        String[] palavras = posicoesPorPalavra.keySet().toArray(String[]::new);
+        int[][] posicoes = new int[palavras.length][];
+        for (int i = 0; i < palavras.length; i++) {
+            posicoes[i] = posicoesPorPalavra.get(palavras[i]).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new Foto(entradas, palavras, posicoes,
+                ordenar(entradas, Entrada::iata), ordenar(entradas, Entrada::cidade), ordenar(entradas, Entrada::nome));
+    }
+
+    private static Ordenados ordenar(Entrada[] entradas, Function<Entrada, String> texto) {
+        Integer[] ordem = new Integer[entradas.length];
+        for (int i = 0; i < ordem.length; i++) {
+            ordem[i] = i;
+        }
+        // Estável: textos iguais ficam em ordem de posição
+        Arrays.sort(ordem, Comparator.comparing(i -> texto.apply(entradas[i])));
+        String[] textos = new String[ordem.length];
+        int[] posicoes = new int[ordem.length];
+        for (int i = 0; i < ordem.length; i++) {
+            textos[i] = texto.apply(entradas[ordem[i]]);
+            posicoes[i] = ordem[i];
+        }
+        return new Ordenados(textos, posicoes);
+    }
+
+    // Chamado com a trava
+    private void adicionar(Aeroporto aeroporto) {
+        Set<String> palavras = new TreeSet<>(palavras(aeroporto.getNome()));
+        palavras.addAll(palavras(aeroporto.getCidade()));
+        palavras.addAll(palavras(aeroporto.getCodigoIata()));
+        porCodigo.put(aeroporto.getCodigoIata(), new Entrada(aeroporto,
+                String.join(" ", palavras(aeroporto.getCodigoIata())),
+                String.join(" ", palavras(aeroporto.getNome())),
+                String.join(" ", palavras(aeroporto.getCidade())),
+                palavras.toArray(String[]::new)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.projeto.aeroportos.cache;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Índice em memória dos aeroportos por código IATA.
+// Como o código segue ^[A-Z]{3}$, ele vira um inteiro denso (26³ = 17.576 posições)
+// e a busca é só um acesso a array, sem hash nem alocação.
+@Component
+public class CacheIata {
+
+    public static final int TOTAL_POSICOES = 26 * 26 * 26;
+
+    private final AtomicReferenceArray<Aeroporto> posicoes = new AtomicReferenceArray<>(TOTAL_POSICOES);
+
+    // Incrementada a cada invalidação; impede que uma leitura lenta grave no cache
+    // um valor lido antes de uma escrita concorrente
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    // Converte "GRU" em um índice de 0 a 17.575; retorna -1 se o código não for válido
+    public static int indice(String codigoIata) {
+        if (codigoIata == null || codigoIata.length() != 3) {
+            return -1;
+        }
+        int indice = 0;
+        for (int i = 0; i < 3; i++) {
+            int letra = codigoIata.charAt(i) - 'A';
+            if (letra < 0 || letra >= 26) {
+                return -1;
+            }
+            indice = indice * 26 + letra;
+        }
+        return indice;
+    }
+
+    // Retorna o aeroporto em cache ou null (contabiliza acerto/falha)
+    public Aeroporto buscar(String codigoIata) {
+        int indice = indice(codigoIata);
+        Aeroporto aeroporto = indice < 0 ? null : posicoes.get(indice);
+        if (aeroporto != null) {
+            acertos.increment();
+        } else {
+            falhas.increment();
+        }
+        return aeroporto;
+    }
+
+    // Deve ser chamado ANTES de consultar o banco; o valor é passado para armazenar()
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    // Grava uma cópia do aeroporto, desde que não tenha havido invalidação desde geracaoLida
+    public void armazenar(Aeroporto aeroporto, long geracaoLida) {
+        int indice = indice(aeroporto.getCodigoIata());
+        if (indice < 0 || geracao.get() != geracaoLida) {
+            return;
+        }
+        Aeroporto copia = new Aeroporto(aeroporto);
+        posicoes.set(indice, copia);
+        // Se uma invalidação aconteceu entre a checagem e o set, desfaz a gravação
+        if (geracao.get() != geracaoLida) {
+            posicoes.compareAndSet(indice, copia, null);
+        }
+    }
+
+    public void invalidar(String codigoIata) {
+        geracao.incrementAndGet();
+        int indice = indice(codigoIata);
+        if (indice >= 0) {
+            posicoes.set(indice, null);
+        }
+    }
+
+    public void limpar() {
+        geracao.incrementAndGet();
+        for (int i = 0; i < TOTAL_POSICOES; i++) {
+            posicoes.set(i, null);
+        }
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+}
@@ -0,0 +1,159 @@
+package com.projeto.aeroportos.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import com.projeto.aeroportos.evento.AeroportosImportadosEvent;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Corpo JSON de GET /api/v1/aeroportos já serializado (e já comprimido em gzip), com o ETag.
+// Os dados mudam poucas vezes por dia e são lidos milhares de vezes por segundo: uma
+// requisição repetida só copia bytes, sem consulta, sem entidades e sem serialização.
+// Montado sob demanda e descartado a cada alteração (imediatamente e de novo ao fim da
+// transação, como o CacheIata). Como no CargasIataEmAndamento, só uma requisição monta por vez:
+// as que erram o cache enquanto a montagem não termina esperam o mesmo resultado
+@Component
+public class CacheListaCompleta {
+
+    public record CorpoListaCompleta(String etag, byte[] json, byte[] gzip) {
+    }
+
+    @Autowired
+    private AeroportoService aeroportoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<CorpoListaCompleta> corpo = new AtomicReference<>();
+
+    // Mesmo papel da geração do CacheIata: uma montagem que começou antes de uma
+    // alteração não pode gravar o resultado depois dela
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final AtomicReference<CompletableFuture<CorpoListaCompleta>> montagemEmAndamento = new AtomicReference<>();
+
+    public CorpoListaCompleta obter() {
+        CorpoListaCompleta atual = corpo.get();
+        if (atual != null) {
+            return atual;
+        }
+        CompletableFuture<CorpoListaCompleta> nova = new CompletableFuture<>();
+        CompletableFuture<CorpoListaCompleta> existente = montagemEmAndamento.compareAndExchange(null, nova);
+        if (existente != null) {
+            return CargasIataEmAndamento.aguardar(existente);
+        }
+        try {
+            CorpoListaCompleta novo = montarEGuardar();
+            nova.complete(novo);
+            return novo;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            montagemEmAndamento.compareAndSet(nova, null);
+        }
+    }
+
+    private CorpoListaCompleta montarEGuardar() {
+        // Outra requisição pode ter terminado de montar entre o primeiro get e a entrada aqui
+        CorpoListaCompleta atual = corpo.get();
+        if (atual != null) {
+            return atual;
+        }
+        long geracaoLida = geracao.get();
+        CorpoListaCompleta novo = montar();
+        if (geracao.get() == geracaoLida && corpo.compareAndSet(null, novo)
+                && geracao.get() != geracaoLida) {
+            // Invalidação entre a checagem e a gravação: desfaz
+            corpo.compareAndSet(novo, null);
+        }
+        return novo;
+    }
+
+    @EventListener
+    public void aoAlterar(AeroportoAlteradoEvent evento) {
+        invalidarAteOFimDaTransacao();
+    }
+
+    @EventListener
+    public void aoImportar(AeroportosImportadosEvent evento) {
+        invalidarAteOFimDaTransacao();
+    }
+
+    // Invalida agora e de novo ao fim da transação. Uma gravação em lote publica um evento por
+    // aeroporto: a invalidação do fim é registrada só no primeiro (o recurso marca a transação)
+    private void invalidarAteOFimDaTransacao() {
+        invalidar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheListaCompleta.this);
+                    invalidar();
+                }
+            });
+        }
+    }
+
+    // Quem chegar depois também não aproveita uma montagem em andamento, que pode ter lido a
+    // lista antiga (mesma regra do CargasIataEmAndamento.descartar)
+    public void invalidar() {
+        geracao.incrementAndGet();
+        montagemEmAndamento.set(null);
+        corpo.set(null);
+    }
+
+    // ETag e lista lidos numa transação somente leitura REPEATABLE READ: as duas consultas veem
+    // o mesmo estado do banco (em READ COMMITTED um commit entre elas faria o ETag não bater)
+    private CorpoListaCompleta montar() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        transacao.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transacao.execute(status -> {
+            String etag = aeroportoService.etagColecao();
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(aeroportoService.listarTodos());
+                return new CorpoListaCompleta(etag, json, comprimir(json));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Compressão máxima: é feita uma vez por alteração, não por requisição
+    static byte[] comprimir(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
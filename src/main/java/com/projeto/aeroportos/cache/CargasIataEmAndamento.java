@@ -0,0 +1,69 @@
+package com.projeto.aeroportos.cache;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Single-flight das buscas por IATA que erraram o cache: a primeira requisição de um código
+// consulta o banco e as que chegam enquanto ela não termina esperam e recebem o mesmo resultado
+// (ou a mesma exceção), em vez de cada uma disparar a sua consulta. Evita a rajada de consultas
+// iguais com o cache frio (depois de um deploy) ou logo após uma invalidação
+@Component
+public class CargasIataEmAndamento {
+
+    private final ConcurrentMap<String, CompletableFuture<Aeroporto>> emAndamento = new ConcurrentHashMap<>();
+
+    private final LongAdder compartilhadas = new LongAdder();
+
+    // Executa a carga, ou espera a que já está em andamento para o mesmo código
+    public Aeroporto carregar(String codigoIata, Supplier<Aeroporto> carga) {
+        CompletableFuture<Aeroporto> nova = new CompletableFuture<>();
+        CompletableFuture<Aeroporto> existente = emAndamento.putIfAbsent(codigoIata, nova);
+        if (existente != null) {
+            compartilhadas.increment();
+            return aguardar(existente);
+        }
+        try {
+            Aeroporto aeroporto = carga.get();
+            nova.complete(aeroporto);
+            return aeroporto;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(codigoIata, nova);
+        }
+    }
+
+    // Chamado quando o código é alterado: quem chegar depois não aproveita uma carga que pode ter
+    // lido o valor antigo (quem já está esperando começou antes da escrita, então pode recebê-lo)
+    public void descartar(String codigoIata) {
+        emAndamento.remove(codigoIata);
+    }
+
+    // Relança para quem esperou a mesma exceção da carga (ex.: AeroportoNaoEncontradoException -> 404)
+    static <T> T aguardar(CompletableFuture<T> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Buscas atendidas pela carga de outra requisição
+    public long getCompartilhadas() {
+        return compartilhadas.sum();
+    }
+}
@@ -0,0 +1,37 @@
+package com.projeto.aeroportos.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Expõe os acertos e falhas do CacheIata como cache.gets{cache="iata",result="hit|miss"},
+// o mesmo nome usado pelos binders de cache do Micrometer. As falhas atendidas pela consulta
+// de outra requisição (CargasIataEmAndamento) saem em cache.iata.cargas.compartilhadas
+@Component
+public class MetricasCacheIata implements MeterBinder {
+
+    @Autowired
+    private CacheIata cacheIata;
+
+    @Autowired
+    private CargasIataEmAndamento cargasIata;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cacheIata, CacheIata::getAcertos)
+                .tag("cache", "iata")
+                .tag("result", "hit")
+                .description("Buscas por IATA atendidas pelo cache em memória")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cacheIata, CacheIata::getFalhas)
+                .tag("cache", "iata")
+                .tag("result", "miss")
+                .description("Buscas por IATA que precisaram ir ao banco")
+                .register(registry);
+        FunctionCounter.builder("cache.iata.cargas.compartilhadas", cargasIata, CargasIataEmAndamento::getCompartilhadas)
+                .description("Falhas do cache por IATA que aproveitaram a consulta já em andamento de outra requisição")
+                .register(registry);
+    }
+}
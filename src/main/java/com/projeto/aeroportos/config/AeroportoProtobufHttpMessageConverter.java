@@ -0,0 +1,201 @@
+package com.projeto.aeroportos.config;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+// Aeroporto e List<Aeroporto> em Protobuf (application/x-protobuf), no formato de
+// src/main/resources/proto/aeroporto.proto. Codificação escrita à mão com o
+// CodedOutputStream/CodedInputStream, sem classes geradas pelo protoc
+public class AeroportoProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    // Campos da mensagem Aeroporto
+    static final int CAMPO_ID = 1;
+    static final int CAMPO_NOME = 2;
+    static final int CAMPO_CODIGO_IATA = 3;
+    static final int CAMPO_CIDADE = 4;
+    static final int CAMPO_CODIGO_PAIS_ISO = 5;
+    static final int CAMPO_LATITUDE = 6;
+    static final int CAMPO_LONGITUDE = 7;
+    static final int CAMPO_ALTITUDE = 8;
+    static final int CAMPO_VERSAO = 9;
+    static final int CAMPO_REVISAO = 10;
+
+    // Campo repeated da mensagem ListaAeroportos
+    static final int CAMPO_AEROPORTOS = 1;
+
+    public AeroportoProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Aeroporto.class.equals(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return suportaTipo(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (type == null ? Aeroporto.class.equals(clazz) : suportaTipo(type)) && canWrite(mediaType);
+    }
+
+    // Só Aeroporto e List<Aeroporto>: outros DTOs continuam em JSON/CBOR/Smile
+    private static boolean suportaTipo(Type type) {
+        if (Aeroporto.class.equals(type)) {
+            return true;
+        }
+        return type instanceof ParameterizedType lista
+                && lista.getRawType() instanceof Class<?> bruto
+                && List.class.isAssignableFrom(bruto)
+                && Aeroporto.class.equals(lista.getActualTypeArguments()[0]);
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream saida = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (objeto instanceof Aeroporto aeroporto) {
+            escrever(aeroporto, saida);
+        } else {
+            for (Object item : (List<?>) objeto) {
+                Aeroporto aeroporto = (Aeroporto) item;
+                saida.writeTag(CAMPO_AEROPORTOS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                saida.writeUInt32NoTag(tamanho(aeroporto));
+                escrever(aeroporto, saida);
+            }
+        }
+        saida.flush();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        CodedInputStream entrada = CodedInputStream.newInstance(inputMessage.getBody());
+        if (Aeroporto.class.equals(type)) {
+            return ler(entrada, inputMessage);
+        }
+        List<Aeroporto> aeroportos = new ArrayList<>();
+        int tag;
+        while ((tag = entrada.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == CAMPO_AEROPORTOS) {
+                int limiteAnterior = entrada.pushLimit(entrada.readRawVarint32());
+                aeroportos.add(ler(entrada, inputMessage));
+                entrada.popLimit(limiteAnterior);
+            } else {
+                entrada.skipField(tag);
+            }
+        }
+        return aeroportos;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    // Escreve os campos presentes (proto3: campos nulos são omitidos)
+    static void escrever(Aeroporto aeroporto, CodedOutputStream saida) throws IOException {
+        if (aeroporto.getId() != null) {
+            saida.writeInt64(CAMPO_ID, aeroporto.getId());
+        }
+        escreverTexto(saida, CAMPO_NOME, aeroporto.getNome());
+        escreverTexto(saida, CAMPO_CODIGO_IATA, aeroporto.getCodigoIata());
+        escreverTexto(saida, CAMPO_CIDADE, aeroporto.getCidade());
+        escreverTexto(saida, CAMPO_CODIGO_PAIS_ISO, aeroporto.getCodigoPaisIso());
+        if (aeroporto.getLatitude() != null) {
+            saida.writeDouble(CAMPO_LATITUDE, aeroporto.getLatitude());
+        }
+        if (aeroporto.getLongitude() != null) {
+            saida.writeDouble(CAMPO_LONGITUDE, aeroporto.getLongitude());
+        }
+        if (aeroporto.getAltitude() != null) {
+            saida.writeDouble(CAMPO_ALTITUDE, aeroporto.getAltitude());
+        }
+        if (aeroporto.getVersao() != null) {
+            saida.writeInt64(CAMPO_VERSAO, aeroporto.getVersao());
+        }
+        if (aeroporto.getRevisao() != null) {
+            saida.writeInt64(CAMPO_REVISAO, aeroporto.getRevisao());
+        }
+    }
+
+    // Tamanho em bytes de escrever(aeroporto), necessário antes de cada item da lista
+    static int tamanho(Aeroporto aeroporto) {
+        int tamanho = 0;
+        if (aeroporto.getId() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_ID, aeroporto.getId());
+        }
+        tamanho += tamanhoTexto(CAMPO_NOME, aeroporto.getNome());
+        tamanho += tamanhoTexto(CAMPO_CODIGO_IATA, aeroporto.getCodigoIata());
+        tamanho += tamanhoTexto(CAMPO_CIDADE, aeroporto.getCidade());
+        tamanho += tamanhoTexto(CAMPO_CODIGO_PAIS_ISO, aeroporto.getCodigoPaisIso());
+        if (aeroporto.getLatitude() != null) {
+            tamanho += CodedOutputStream.computeDoubleSize(CAMPO_LATITUDE, aeroporto.getLatitude());
+        }
+        if (aeroporto.getLongitude() != null) {
+            tamanho += CodedOutputStream.computeDoubleSize(CAMPO_LONGITUDE, aeroporto.getLongitude());
+        }
+        if (aeroporto.getAltitude() != null) {
+            tamanho += CodedOutputStream.computeDoubleSize(CAMPO_ALTITUDE, aeroporto.getAltitude());
+        }
+        if (aeroporto.getVersao() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_VERSAO, aeroporto.getVersao());
+        }
+        if (aeroporto.getRevisao() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(CAMPO_REVISAO, aeroporto.getRevisao());
+        }
+        return tamanho;
+    }
+
+    // Lê uma mensagem Aeroporto até o fim da entrada (ou do limite atual)
+    static Aeroporto ler(CodedInputStream entrada, HttpInputMessage inputMessage) throws IOException {
+        Aeroporto aeroporto = new Aeroporto();
+        int tag;
+        while ((tag = entrada.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case CAMPO_ID -> aeroporto.setId(entrada.readInt64());
+                case CAMPO_NOME -> aeroporto.setNome(entrada.readStringRequireUtf8());
+                case CAMPO_CODIGO_IATA -> aeroporto.setCodigoIata(entrada.readStringRequireUtf8());
+                case CAMPO_CIDADE -> aeroporto.setCidade(entrada.readStringRequireUtf8());
+                case CAMPO_CODIGO_PAIS_ISO -> aeroporto.setCodigoPaisIso(entrada.readStringRequireUtf8());
+                case CAMPO_LATITUDE -> aeroporto.setLatitude(entrada.readDouble());
+                case CAMPO_LONGITUDE -> aeroporto.setLongitude(entrada.readDouble());
+                case CAMPO_ALTITUDE -> aeroporto.setAltitude(entrada.readDouble());
+                // versao e revisao são só de leitura na API, como no JSON
+                case CAMPO_VERSAO, CAMPO_REVISAO -> entrada.readInt64();
+                default -> {
+                    if (!entrada.skipField(tag)) {
+                        throw new HttpMessageNotReadableException("Mensagem Protobuf inválida.", inputMessage);
+                    }
+                }
+            }
+        }
+        return aeroporto;
+    }
+
+    private static void escreverTexto(CodedOutputStream saida, int campo, String valor) throws IOException {
+        if (valor != null && !valor.isEmpty()) {
+            saida.writeString(campo, valor);
+        }
+    }
+
+    private static int tamanhoTexto(int campo, String valor) {
+        return valor == null || valor.isEmpty() ? 0 : CodedOutputStream.computeStringSize(campo, valor);
+    }
+}
@@ -0,0 +1,79 @@
+package com.projeto.aeroportos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Cache de segundo nível do Hibernate em processo (JCache + Caffeine): entidade Aeroporto,
+// código IATA (@NaturalId) e resultado do findAll. As regiões são criadas aqui, com tamanho
+// e TTL vindos de aeroportos.l2.*; o resto (fábrica jcache, query cache) está no application.properties
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    // Regiões usadas em @Cache e @NaturalIdCache do Aeroporto
+    public static final String REGIAO_AEROPORTO = "aeroporto";
+    public static final String REGIAO_AEROPORTO_IATA = "aeroporto-iata";
+
+    @Value("${aeroportos.l2.tamanho-entidades:20000}")
+    private long tamanhoEntidades;
+
+    @Value("${aeroportos.l2.tamanho-consultas:100}")
+    private long tamanhoConsultas;
+
+    @Value("${aeroportos.l2.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${aeroportos.l2.estatisticas:false}")
+    private boolean estatisticas;
+
+    // Um CacheManager por contexto (URI própria): o provider reaproveita managers pela URI,
+    // e contextos de teste diferentes não podem dividir as mesmas regiões
+    @Bean
+    public CacheManager cacheManagerSegundoNivel() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("aeroportos-l2-" + System.identityHashCode(this)),
+                        getClass().getClassLoader());
+        cacheManager.createCache(REGIAO_AEROPORTO, configuracao(tamanhoEntidades, ttl));
+        cacheManager.createCache(REGIAO_AEROPORTO_IATA, configuracao(tamanhoEntidades, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                configuracao(tamanhoConsultas, ttl));
+        // Os timestamps dizem se um resultado de consulta ainda vale: não podem sair antes dele
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                configuracao(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> {
+            propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+            propriedades.put(AvailableSettings.GENERATE_STATISTICS, estatisticas);
+        };
+    }
+
+    // Guarda por referência (sem cópia serializada a cada get/put, como exige o JCache por padrão)
+    private CaffeineConfiguration<Object, Object> configuracao(Long tamanhoMaximo, Duration expiracao) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(estatisticas);
+        if (tamanhoMaximo != null) {
+            configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        }
+        if (expiracao != null) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+        }
+        return configuracao;
+    }
+}
@@ -0,0 +1,34 @@
+package com.projeto.aeroportos.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Formatos binários escolhidos pelo Accept (e pelo Content-Type nas entradas):
+// application/cbor, application/x-jackson-smile e application/x-protobuf.
+// Sem nomes de campo repetidos e com doubles em binário, em vez de texto decimal
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    // Builder do Spring Boot: mesmas configurações (spring.jackson.*) do ObjectMapper de JSON
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    // Adicionados no FIM da lista: sem Accept (ou com */*) o JSON continua sendo o padrão
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()));
+        converters.add(new AeroportoProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,28 @@
+package com.projeto.aeroportos.config;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// O perfil virtual-threads só faz sentido com o ThreadsVirtuaisConfig (src/main/java21, compilado
+// com -Pjava21) rodando em JDK 21. Sem ele o Tomcat continuaria com as 200 threads de plataforma,
+// mas com o pool do Hikari e os limites do application-virtual-threads.properties: a aplicação
+// não sobe em vez de rodar assim sem avisar
+@Configuration(proxyBeanMethods = false)
+@Profile("virtual-threads")
+public class VerificacaoThreadsVirtuais {
+
+    // Nome do bean do ThreadsVirtuaisConfig que troca o executor do Tomcat
+    public static final String EXECUTOR_TOMCAT_VIRTUAL = "executorTomcatVirtual";
+
+    public VerificacaoThreadsVirtuais(ListableBeanFactory beanFactory) {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("O perfil virtual-threads exige JDK 21 ou superior (executando com "
+                    + Runtime.version() + ").");
+        }
+        if (!beanFactory.containsBeanDefinition(EXECUTOR_TOMCAT_VIRTUAL)) {
+            throw new IllegalStateException(
+                    "O perfil virtual-threads exige o build com o perfil Maven java21 (mvn -Pjava21 package).");
+        }
+    }
+}
@@ -1,13 +1,46 @@
 package com.projeto.aeroportos.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projeto.aeroportos.busca.IndiceBusca;
+import com.projeto.aeroportos.cache.CacheListaCompleta;
+import com.projeto.aeroportos.cache.CacheListaCompleta.CorpoListaCompleta;
 import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoEncontrado;
+import com.projeto.aeroportos.dto.AeroportoResumo;
+import com.projeto.aeroportos.dto.AlteracoesDesde;
+import com.projeto.aeroportos.dto.FiltroAeroportos;
+import com.projeto.aeroportos.dto.AeroportoProximo;
+import com.projeto.aeroportos.dto.MatrizDistanciasResposta;
+import com.projeto.aeroportos.dto.PedidoMatrizDistancias;
+import com.projeto.aeroportos.dto.PaginaAeroportos;
+import com.projeto.aeroportos.dto.RelatorioImportacao;
+import com.projeto.aeroportos.dto.ResultadoBuscaMultipla;
+import com.projeto.aeroportos.dto.ResultadoLote;
+import com.projeto.aeroportos.evento.FluxoAlteracoes;
+import com.projeto.aeroportos.geo.IndiceEspacial;
+import com.projeto.aeroportos.importacao.ImportadorCsvAeroportos;
 import com.projeto.aeroportos.service.AeroportoService;
+import com.projeto.aeroportos.service.DistanciaService;
+import com.projeto.aeroportos.service.ModoLote;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -17,18 +50,196 @@ public class AeroportoController {
     @Autowired
     private AeroportoService aeroportoService;
 
-    // GET /api/v1/aeroportos - Obter todos os aeroportos
+    @Autowired
+    private ImportadorCsvAeroportos importadorCsv;
+
+    @Autowired
+    private IndiceEspacial indiceEspacial;
+
+    @Autowired
+    private IndiceBusca indiceBusca;
+
+    @Autowired
+    private DistanciaService distanciaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheListaCompleta cacheListaCompleta;
+
+    @Autowired
+    private FluxoAlteracoes fluxoAlteracoes;
+
+    // GET /api/v1/aeroportos - Obter todos os aeroportos em JSON (formato padrão).
+    // Escreve os bytes já prontos do CacheListaCompleta: o gzip pré-comprimido quando o
+    // cliente aceita, senão o JSON puro. Com If-None-Match igual ao ETag, 304
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public void listarTodosJson(WebRequest request, HttpServletResponse response) throws IOException {
+        rejeitarParametrosSemMetodo(request);
+        CorpoListaCompleta corpo = cacheListaCompleta.obter();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (request.checkNotModified(corpo.etag())) {
+            return;
+        }
+        byte[] bytes = corpo.json();
+        if (aceitaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            // Com Content-Encoding já definido o Tomcat não comprime de novo
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = corpo.gzip();
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    // GET /api/v1/aeroportos - Obter todos os aeroportos nos demais formatos (CBOR, Smile, Protobuf).
+    // Sem Accept ou só com curingas o Spring escolhe este método, mas o padrão continua JSON.
+    // O ETag vem de uma consulta agregada feita ANTES da listagem; se bater com o
+    // If-None-Match, responde 304 sem carregar nem serializar a lista
     @GetMapping
-    public ResponseEntity<List<Aeroporto>> listarTodos() {
+    public ResponseEntity<List<Aeroporto>> listarTodos(WebRequest request, HttpServletResponse response)
+            throws IOException {
+        if (aceitaQualquerTipo(request.getHeader(HttpHeaders.ACCEPT))) {
+            listarTodosJson(request, response);
+            return null;
+        }
+        rejeitarParametrosSemMetodo(request);
+        String etag = aeroportoService.etagColecao();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<Aeroporto> aeroportos = aeroportoService.listarTodos();
+        return ResponseEntity.ok().eTag(etag).body(aeroportos);
+    }
+
+    // GET /api/v1/aeroportos?fields=codigoIata,nome,cidade - Listagem resumida (projeção, sem entidades)
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<List<AeroportoResumo>> listarResumos(
+            @RequestParam List<String> fields,
+            WebRequest request) {
+        rejeitarParametrosCombinados(request);
+        String etag = aeroportoService.etagColecaoResumida();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<AeroportoResumo> resumos = aeroportoService.listarResumos(fields);
+        return ResponseEntity.ok().eTag(etag).body(resumos);
+    }
+
+    // GET /api/v1/aeroportos?iata=GRU,JFK,LHR - Vários aeroportos numa requisição (uma consulta só
+    // para o que não estiver em cache). Códigos desconhecidos voltam em naoEncontrados, sem 404
+    @GetMapping(params = {"iata", "!limit", "!fields"})
+    public ResponseEntity<ResultadoBuscaMultipla> buscarVariosPorIata(@RequestParam List<String> iata,
+                                                                      WebRequest request) {
+        rejeitarParametrosCombinados(request);
+        return ResponseEntity.ok(aeroportoService.buscarVariosPorIata(iata));
+    }
+
+    // GET /api/v1/aeroportos?limit=100&after=GRU - Obter uma página (cursor = último IATA recebido)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaAeroportos> listarPagina(
+            @RequestParam int limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        rejeitarParametrosCombinados(request);
+        PaginaAeroportos pagina = aeroportoService.listarPagina(after, limit);
+        return ResponseEntity.ok(pagina);
+    }
+
+    // GET /api/v1/aeroportos?codigoPaisIso=BR&cidade=São Paulo - Filtrar por país (e cidade)
+    // GET /api/v1/aeroportos?latMin=-24&latMax=-22&lonMin=-47&lonMax=-43 - Filtrar por caixa de coordenadas
+    // Os filtros podem ser combinados; como o Spring só combina condições de params com "e",
+    // cada parâmetro que pode iniciar um filtro tem o seu mapeamento, todos com o mesmo tratamento
+    @GetMapping(params = {"codigoPaisIso", "!limit", "!fields", "!iata"})
+    public ResponseEntity<List<Aeroporto>> filtrar(FiltroAeroportos filtro, WebRequest request) {
+        rejeitarParametrosCombinados(request);
+        List<Aeroporto> aeroportos = aeroportoService.filtrar(filtro);
         return ResponseEntity.ok(aeroportos);
     }
 
+    @GetMapping(params = {"latMin", "!codigoPaisIso", "!limit", "!fields", "!iata"})
+    public ResponseEntity<List<Aeroporto>> filtrarPorCaixa(FiltroAeroportos filtro, WebRequest request) {
+        return filtrar(filtro, request);
+    }
+
+    // Cidade sem país: o serviço responde 400
+    @GetMapping(params = {"cidade", "!codigoPaisIso", "!latMin", "!limit", "!fields", "!iata"})
+    public ResponseEntity<List<Aeroporto>> filtrarPorCidade(FiltroAeroportos filtro, WebRequest request) {
+        return filtrar(filtro, request);
+    }
+
+    // GET /api/v1/aeroportos/export - Exportar todos os aeroportos em NDJSON (um JSON por linha),
+    // escrevendo direto na resposta à medida que as linhas chegam do banco
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportar(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Sem flush a cada objeto: o buffer do gerador e o do servlet decidem quando enviar
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            gerador.setRootValueSeparator(null);
+            aeroportoService.percorrerTodos(aeroporto -> {
+                try {
+                    escritor.writeValue(gerador, aeroporto);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // GET /api/v1/aeroportos/changes?since=42 - Sincronização incremental para clientes offline:
+    // o que mudou depois da revisão since. Sem since devolve a tabela inteira; as chamadas
+    // seguintes usam a revisao devolvida pela anterior
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesDesde> listarAlteracoes(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(aeroportoService.listarAlteracoes(since));
+    }
+
+    // GET /api/v1/aeroportos/search?q=sao&limit=10 - Busca enquanto digita por nome, cidade e IATA
+    // (sem acentos, por prefixo de palavra, da maior para a menor relevância)
+    @GetMapping("/search")
+    public ResponseEntity<List<AeroportoEncontrado>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AeroportoEncontrado> encontrados = indiceBusca.buscar(q, limit);
+        return ResponseEntity.ok(encontrados);
+    }
+
+    // GET /api/v1/aeroportos/events - Fluxo SSE de criações, atualizações e remoções (após o commit).
+    // Para retomar, o EventSource reenvia o último id no cabeçalho Last-Event-ID; o parâmetro
+    // lastEventId serve para a primeira conexão
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarAlteracoes(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdCabecalho,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        return fluxoAlteracoes.assinar(lastEventIdCabecalho != null ? lastEventIdCabecalho : lastEventId);
+    }
+
+    // GET /api/v1/aeroportos/nearby?lat=-23.5&lon=-46.6&radiusKm=100&k=5 - Aeroportos mais próximos
+    @GetMapping("/nearby")
+    public ResponseEntity<List<AeroportoProximo>> buscarProximos(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "100") double radiusKm,
+            @RequestParam(defaultValue = "10") int k) {
+        List<AeroportoProximo> proximos = indiceEspacial.buscarProximos(lat, lon, radiusKm, k);
+        return ResponseEntity.ok(proximos);
+    }
+
     // GET /api/v1/aeroportos/{iata} - Obter um aeroporto pelo código IATA
+    // Com If-None-Match, confere só a versão (cache ou consulta de id/versão) antes de carregar a linha
     @GetMapping("/{iata}")
-    public ResponseEntity<Aeroporto> buscarPorIata(@PathVariable String iata) {
+    public ResponseEntity<Aeroporto> buscarPorIata(@PathVariable String iata, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(aeroportoService.etagPorIata(iata))) {
+            return null;
+        }
         Aeroporto aeroporto = aeroportoService.buscarPorIata(iata);
-        return ResponseEntity.ok(aeroporto);
+        return ResponseEntity.ok().eTag(AeroportoService.etag(aeroporto)).body(aeroporto);
     }
 
     // POST /api/v1/aeroportos - Adicionar um novo aeroporto
@@ -38,13 +249,46 @@ public class AeroportoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(aeroportoCriado);
     }
 
+    // POST /api/v1/aeroportos/batch?modo=FALHAR|UPSERT - Adicionar vários aeroportos de uma vez
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLote> criarEmLote(
+            @RequestParam(defaultValue = "FALHAR") ModoLote modo,
+            @RequestBody List<Aeroporto> aeroportos) {
+        ResultadoLote resultado = aeroportoService.criarEmLote(aeroportos, modo);
+        HttpStatus status = resultado.criados().isEmpty() ? HttpStatus.OK : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(resultado);
+    }
+
+    // POST /api/v1/aeroportos/lookup - O mesmo que GET ?iata=, com os códigos no corpo (["GRU", "JFK"]),
+    // para listas que não cabem bem na URL
+    @PostMapping("/lookup")
+    public ResponseEntity<ResultadoBuscaMultipla> buscarVariosPorIataNoCorpo(@RequestBody List<String> codigos) {
+        return ResponseEntity.ok(aeroportoService.buscarVariosPorIata(codigos));
+    }
+
+    // POST /api/v1/aeroportos/distances - Matriz de distâncias (km) e rumos iniciais entre origens e destinos
+    @PostMapping("/distances")
+    public ResponseEntity<MatrizDistanciasResposta> calcularDistancias(@RequestBody PedidoMatrizDistancias pedido) {
+        MatrizDistanciasResposta matriz = distanciaService.calcularMatriz(pedido);
+        return ResponseEntity.ok(matriz);
+    }
+
+    // POST /api/v1/aeroportos/import - Importar o CSV do OurAirports (altitude em pés)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<RelatorioImportacao> importar(InputStream csv) throws IOException {
+        RelatorioImportacao relatorio = importadorCsv.importar(csv);
+        return ResponseEntity.ok(relatorio);
+    }
+
     // PUT /api/v1/aeroportos/{iata} - Atualizar um aeroporto existente
+    // (com If-Match, só atualiza se o ETag ainda for o informado; senão 412)
     @PutMapping("/{iata}")
     public ResponseEntity<Aeroporto> atualizar(
             @PathVariable String iata,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody Aeroporto aeroporto) {
-        Aeroporto aeroportoAtualizado = aeroportoService.atualizar(iata, aeroporto);
-        return ResponseEntity.ok(aeroportoAtualizado);
+        Aeroporto aeroportoAtualizado = aeroportoService.atualizar(iata, aeroporto, ifMatch);
+        return ResponseEntity.ok().eTag(AeroportoService.etag(aeroportoAtualizado)).body(aeroportoAtualizado);
     }
 
     // DELETE /api/v1/aeroportos/{iata} - Excluir um aeroporto
@@ -53,4 +297,92 @@ public class AeroportoController {
         aeroportoService.deletar(iata);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Grupos de parâmetros de GET /api/v1/aeroportos. Cada grupo tem o seu método e eles não se
+    // combinam: sem esta checagem o Spring escolheria um dos métodos e ignoraria o resto
+    // (ex.: ?limit=3&codigoPaisIso=US paginaria sem filtrar)
+    private static final List<String> PARAMETROS_FILTRO =
+            List.of("codigoPaisIso", "cidade", "latMin", "latMax", "lonMin", "lonMax");
+
+    private static final List<List<String>> GRUPOS_PARAMETROS_LISTAGEM = List.of(
+            List.of("limit", "after"),
+            List.of("fields"),
+            PARAMETROS_FILTRO,
+            List.of("iata"));
+
+    private static void rejeitarParametrosCombinados(WebRequest request) {
+        List<String> usados = new ArrayList<>();
+        for (List<String> grupo : GRUPOS_PARAMETROS_LISTAGEM) {
+            grupo.stream()
+                    .filter(parametro -> request.getParameter(parametro) != null)
+                    .findFirst()
+                    .ifPresent(usados::add);
+        }
+        if (usados.size() > 1) {
+            throw new IllegalArgumentException(
+                    "Os parâmetros " + String.join(", ", usados) + " não podem ser usados juntos.");
+        }
+    }
+
+    // Parâmetros de listagem que não selecionam nenhum dos métodos acima (after sem limit, caixa
+    // sem latMin) caem na listagem completa: sem esta checagem a lista inteira voltaria com 200,
+    // ignorando o filtro
+    private static void rejeitarParametrosSemMetodo(WebRequest request) {
+        if (request.getParameterMap().isEmpty()) {
+            return;
+        }
+        rejeitarParametrosCombinados(request);
+        if (request.getParameter("after") != null) {
+            throw new IllegalArgumentException("O parâmetro after exige limit.");
+        }
+        for (String parametro : PARAMETROS_FILTRO) {
+            if (request.getParameter(parametro) != null) {
+                throw new IllegalArgumentException("A caixa de coordenadas exige latMin, latMax, lonMin e lonMax.");
+            }
+        }
+    }
+
+    // Accept-Encoding com gzip (ou *) e sem q=0. Uma entrada gzip explícita vale mais que o *
+    // (RFC 9110): "gzip;q=0, *" recusa gzip
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean curinga = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim();
+            boolean ehGzip = codificacao.equalsIgnoreCase("gzip");
+            if (!ehGzip && !codificacao.equals("*")) {
+                continue;
+            }
+            boolean recusado = false;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().replace(" ", "");
+                if (parametro.matches("q=0(\\.0*)?")) {
+                    recusado = true;
+                }
+            }
+            if (ehGzip) {
+                gzip = !recusado;
+            } else {
+                curinga = !recusado;
+            }
+        }
+        if (gzip != null) {
+            return gzip;
+        }
+        return curinga != null && curinga;
+    }
+
+    // Accept ausente ou só com */* e application/*
+    static boolean aceitaQualquerTipo(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .allMatch(tipo -> tipo.isWildcardSubtype()
+                        && (tipo.isWildcardType() || "application".equals(tipo.getType())));
+    }
+}
@@ -1,10 +1,26 @@
 package com.projeto.aeroportos.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.projeto.aeroportos.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
-@Table(name = "aeroporto")
+// Cache de segundo nível (ver CacheSegundoNivelConfig): por id e por código IATA
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_AEROPORTO)
+@NaturalIdCache(region = CacheSegundoNivelConfig.REGIAO_AEROPORTO_IATA)
+@Table(name = "aeroporto", indexes = {
+    // Mesmos índices do schema.sql (filtros de AeroportoRepository); o de país + cidade
+    // também atende o filtro só por país, pela coluna inicial
+    @Index(name = "idx_aeroporto_pais_cidade", columnList = "codigo_pais_iso, cidade"),
+    @Index(name = "idx_aeroporto_lat_lon", columnList = "latitude, longitude"),
+    @Index(name = "idx_aeroporto_revisao", columnList = "revisao")
+})
 public class Aeroporto {
 
     @Id
@@ -17,6 +33,8 @@ public class Aeroporto {
     @Column(name = "nome_aeroporto", nullable = false)
     private String nome;
 
+    // Chave natural: nunca muda depois de criado (o PUT não altera o IATA)
+    @NaturalId
     @NotBlank(message = "Código IATA é obrigatório")
     @Pattern(regexp = "^[A-Z]{3}$", message = "Código IATA deve ter exatamente 3 letras maiúsculas")
     @Column(name = "codigo_iata", unique = true, nullable = false, length = 3)
@@ -45,6 +63,18 @@ public class Aeroporto {
     @Column(name = "altitude", nullable = false)
     private Double altitude;
 
+    // Controle de concorrência otimista e base do ETag; só o servidor altera
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    // Revisão da última escrita (contador global em revisao_aeroportos), base de
+    // GET /changes?since=; só o servidor altera
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "revisao", nullable = false)
+    private Long revisao = 0L;
+
     // Construtores
     public Aeroporto() {
     }
@@ -60,6 +90,15 @@ public class Aeroporto {
         this.altitude = altitude;
     }
 
+    // Cópia desanexada (usada pelos caches em memória)
+    public Aeroporto(Aeroporto outro) {
+        this(outro.nome, outro.codigoIata, outro.cidade, outro.codigoPaisIso,
+                outro.latitude, outro.longitude, outro.altitude);
+        this.id = outro.id;
+        this.versao = outro.versao;
+        this.revisao = outro.revisao;
+    }
+
     // Getters e Setters (vou escrever só os principais para economizar espaço)
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -84,4 +123,10 @@ public class Aeroporto {
     
     public Double getAltitude() { return altitude; }
     public void setAltitude(Double altitude) { this.altitude = altitude; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    public Long getRevisao() { return revisao; }
+    public void setRevisao(Long revisao) { this.revisao = revisao; }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+// Resultado da busca textual; quanto maior a relevância, melhor o casamento
+public record AeroportoEncontrado(Aeroporto aeroporto, int relevancia) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+// Resultado da busca por proximidade
+public record AeroportoProximo(Aeroporto aeroporto, double distanciaKm) {
+}
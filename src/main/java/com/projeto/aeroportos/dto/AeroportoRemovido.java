@@ -0,0 +1,5 @@
+package com.projeto.aeroportos.dto;
+
+// Lápide de um aeroporto removido, com a revisão da remoção
+public record AeroportoRemovido(String codigoIata, long revisao) {
+}
@@ -0,0 +1,10 @@
+package com.projeto.aeroportos.dto;
+
+import java.util.Set;
+
+// Projeção para listagens: só os campos que as telas de lista usam.
+// Montada direto na consulta (select new), sem entidade gerenciada nem snapshot
+public record AeroportoResumo(String codigoIata, String nome, String cidade) {
+
+    public static final Set<String> CAMPOS = Set.of("codigoIata", "nome", "cidade");
+}
@@ -0,0 +1,9 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent.TipoAlteracao;
+
+// Alteração publicada no fluxo SSE: sequência crescente, tipo, código IATA e o estado
+// gravado (null quando REMOVIDO)
+public record AlteracaoAeroporto(long sequencia, TipoAlteracao tipo, String codigoIata, Aeroporto aeroporto) {
+}
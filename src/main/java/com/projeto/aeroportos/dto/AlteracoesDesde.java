@@ -0,0 +1,10 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+import java.util.List;
+
+// Resposta de GET /changes?since=: aeroportos criados ou atualizados e lápides dos removidos
+// depois de since. revisao é o valor a mandar como since na próxima sincronização
+public record AlteracoesDesde(long revisao, List<Aeroporto> alterados, List<AeroportoRemovido> removidos) {
+}
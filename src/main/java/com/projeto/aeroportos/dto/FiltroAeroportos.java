@@ -0,0 +1,11 @@
+package com.projeto.aeroportos.dto;
+
+// Filtros de GET /api/v1/aeroportos (todos opcionais; os nomes são os parâmetros da URL).
+// cidade exige codigoPaisIso; a caixa de coordenadas exige os quatro limites
+public record FiltroAeroportos(String codigoPaisIso, String cidade,
+                               Double latMin, Double latMax, Double lonMin, Double lonMax) {
+
+    public boolean temCaixa() {
+        return latMin != null || latMax != null || lonMin != null || lonMax != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.projeto.aeroportos.dto;
+
+import java.util.List;
+
+// distanciasKm[i][j] e rumosGraus[i][j] vão de origens[i] para destinos[j]
+public record MatrizDistanciasResposta(
+        List<String> origens,
+        List<String> destinos,
+        double[][] distanciasKm,
+        double[][] rumosGraus) {
+}
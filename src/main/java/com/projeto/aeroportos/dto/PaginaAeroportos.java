@@ -0,0 +1,10 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+import java.util.List;
+
+// Página da listagem por cursor: proximoCursor é o último código IATA da página
+// (null quando não há mais aeroportos)
+public record PaginaAeroportos(List<Aeroporto> itens, String proximoCursor) {
+}
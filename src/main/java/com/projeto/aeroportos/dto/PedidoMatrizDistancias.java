@@ -0,0 +1,7 @@
+package com.projeto.aeroportos.dto;
+
+import java.util.List;
+
+// Corpo de POST /api/v1/aeroportos/distances: códigos IATA de origem e de destino
+public record PedidoMatrizDistancias(List<String> origens, List<String> destinos) {
+}
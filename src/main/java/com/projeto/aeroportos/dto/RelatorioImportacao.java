@@ -0,0 +1,16 @@
+package com.projeto.aeroportos.dto;
+
+import java.util.List;
+
+// Resultado de uma importação em lote. "rejeitadas" traz no máximo os primeiros
+// detalhes (ver ImportadorCsvAeroportos.MAXIMO_REJEICOES_DETALHADAS); o total fica em totalRejeitadas
+public record RelatorioImportacao(
+        long linhasLidas,
+        long importadas,
+        long semCodigoIata,
+        long totalRejeitadas,
+        List<LinhaRejeitada> rejeitadas) {
+
+    public record LinhaRejeitada(long linha, String codigoIata, String motivo) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.projeto.aeroportos.dto;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+import java.util.List;
+
+// Resposta da busca de vários códigos IATA: os aeroportos encontrados e os códigos sem aeroporto,
+// ambos na ordem do pedido (sem repetições)
+public record ResultadoBuscaMultipla(List<Aeroporto> encontrados, List<String> naoEncontrados) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.aeroportos.dto;
+
+import java.util.List;
+
+// Códigos IATA criados e atualizados por um cadastro em lote
+public record ResultadoLote(List<String> criados, List<String> atualizados) {
+}
@@ -0,0 +1,16 @@
+package com.projeto.aeroportos.dto;
+
+// Resumo da tabela para o ETag da coleção. Uma atualização sempre aumenta a soma das
+// versões; como o id é sequencial, inserir e remover a mesma quantidade de linhas
+// sempre aumenta a soma dos ids (os novos ids são maiores que qualquer id removido)
+public record ResumoVersoes(Long quantidade, Long somaIds, Long somaVersoes) {
+
+    public String etag() {
+        return "\"" + quantidade + "-" + somaIds + "-" + somaVersoes + "\"";
+    }
+
+    // ETag de outra representação dos mesmos dados (ex.: a listagem resumida)
+    public String etag(String representacao) {
+        return "\"" + representacao + "-" + quantidade + "-" + somaIds + "-" + somaVersoes + "\"";
+    }
+}
@@ -0,0 +1,10 @@
+package com.projeto.aeroportos.dto;
+
+// Identidade e versão de um aeroporto. O id entra no ETag para que um código removido
+// e recriado (versão 0 de novo) não repita um ETag antigo
+public record VersaoAeroporto(Long id, Long versao) {
+
+    public String etag() {
+        return "\"" + id + "-" + versao + "\"";
+    }
+}
@@ -0,0 +1,31 @@
+package com.projeto.aeroportos.evento;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+// Publicado pelo AeroportoService (e pelas gravações em lote) a cada aeroporto criado,
+// atualizado ou removido. Os índices em memória escutam com @TransactionalEventListener,
+// então só recebem o evento depois do commit.
+// "aeroporto" é uma cópia desanexada do estado gravado (null quando REMOVIDO);
+// "revisao" é a revisão da escrita (ver RevisaoRepository).
+public record AeroportoAlteradoEvent(TipoAlteracao tipo, String codigoIata, Aeroporto aeroporto, long revisao) {
+
+    public enum TipoAlteracao {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+
+    public static AeroportoAlteradoEvent criado(Aeroporto aeroporto) {
+        return new AeroportoAlteradoEvent(TipoAlteracao.CRIADO, aeroporto.getCodigoIata(), new Aeroporto(aeroporto),
+                aeroporto.getRevisao());
+    }
+
+    public static AeroportoAlteradoEvent atualizado(Aeroporto aeroporto) {
+        return new AeroportoAlteradoEvent(TipoAlteracao.ATUALIZADO, aeroporto.getCodigoIata(), new Aeroporto(aeroporto),
+                aeroporto.getRevisao());
+    }
+
+    public static AeroportoAlteradoEvent removido(String codigoIata, long revisao) {
+        return new AeroportoAlteradoEvent(TipoAlteracao.REMOVIDO, codigoIata, null, revisao);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projeto.aeroportos.evento;
+
+// Publicado uma vez por importação (ImportadorCsvAeroportos) no lugar de um AeroportoAlteradoEvent
+// por linha: quem mantém um índice ou cache em memória recarrega tudo do banco uma única vez,
+// depois do commit. "revisao" é a revisão única da importação.
+public record AeroportosImportadosEvent(long revisao, long quantidade) {
+}
@@ -0,0 +1,204 @@
+package com.projeto.aeroportos.evento;
+
+import com.projeto.aeroportos.dto.AlteracaoAeroporto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fluxo de alterações (Server-Sent Events) para quem hoje relê a lista inteira para achar mudanças.
+// Cada AeroportoAlteradoEvent commitado recebe uma sequência e vai para um anel de tamanho fixo;
+// quem reconecta com Last-Event-ID recebe o que perdeu, desde que ainda esteja no anel.
+// Senão (ou se o id é de outra execução do servidor) recebe RESINCRONIZAR e deve recarregar a
+// lista. Uma importação ocupa uma única sequência, sem alteração no anel (null): quem passa por
+// ela recebe RESINCRONIZAR, em vez de uma alteração por linha importada.
+// Os envios rodam no executor da aplicação: um cliente lento não segura quem gravou.
+// Locks são ReentrantLock, não synchronized: o envio bloqueia em I/O com o lock do assinante e,
+// com virtual threads, um synchronized prenderia a thread carregadora durante a escrita
+@Component
+public class FluxoAlteracoes {
+
+    public static final String EVENTO_RESINCRONIZAR = "RESINCRONIZAR";
+
+    // Distingue os ids desta execução dos de uma anterior (a sequência recomeça a cada subida)
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AlteracaoAeroporto[] anel;
+    private long ultimaSequencia = 0;
+
+    // Protege o anel e a ultimaSequencia
+    private final ReentrantLock travaAnel = new ReentrantLock();
+
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Value("${aeroportos.alteracoes.timeout:30m}")
+    private Duration timeout;
+
+    public FluxoAlteracoes(@Value("${aeroportos.alteracoes.capacidade:1024}") int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("aeroportos.alteracoes.capacidade deve ser maior que 0.");
+        }
+        this.anel = new AlteracaoAeroporto[capacidade];
+    }
+
+    // Quem assina recebe só o que acontecer daqui em diante, ou, com ultimoId, também o que
+    // veio depois dele
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock trava = new ReentrantLock();
+        private long ultimaEnviada;
+        private boolean resincronizar;
+
+        private Assinante(SseEmitter emitter, long ultimaEnviada, boolean resincronizar) {
+            this.emitter = emitter;
+            this.ultimaEnviada = ultimaEnviada;
+            this.resincronizar = resincronizar;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AeroportoAlteradoEvent evento) {
+        travaAnel.lock();
+        try {
+            ultimaSequencia++;
+            anel[(int) (ultimaSequencia % anel.length)] = new AlteracaoAeroporto(
+                    ultimaSequencia, evento.tipo(), evento.codigoIata(), evento.aeroporto());
+        } finally {
+            travaAnel.unlock();
+        }
+        for (Assinante assinante : assinantes) {
+            executor.execute(() -> enviarPendentes(assinante));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportar(AeroportosImportadosEvent evento) {
+        travaAnel.lock();
+        try {
+            ultimaSequencia++;
+            anel[(int) (ultimaSequencia % anel.length)] = null;
+        } finally {
+            travaAnel.unlock();
+        }
+        for (Assinante assinante : assinantes) {
+            executor.execute(() -> enviarPendentes(assinante));
+        }
+    }
+
+    public SseEmitter assinar(String ultimoId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Assinante assinante;
+        travaAnel.lock();
+        try {
+            Long ultimaRecebida = sequenciaDoId(ultimoId);
+            if (ultimoId == null) {
+                assinante = new Assinante(emitter, ultimaSequencia, false);
+            } else if (ultimaRecebida == null || ultimaRecebida > ultimaSequencia) {
+                assinante = new Assinante(emitter, ultimaSequencia, true);
+            } else {
+                assinante = new Assinante(emitter, ultimaRecebida, false);
+            }
+        } finally {
+            travaAnel.unlock();
+        }
+        assinantes.add(assinante);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(erro -> assinantes.remove(assinante));
+        executor.execute(() -> enviarPendentes(assinante));
+        return emitter;
+    }
+
+    public int getQuantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    // Envia, em ordem, tudo o que o assinante ainda não recebeu. Pode ser chamado por várias
+    // threads ao mesmo tempo: o lock do assinante e a ultimaEnviada evitam repetição e inversão
+    private void enviarPendentes(Assinante assinante) {
+        assinante.trava.lock();
+        try {
+            if (!assinantes.contains(assinante)) {
+                return;
+            }
+            List<AlteracaoAeroporto> pendentes = new ArrayList<>();
+            travaAnel.lock();
+            try {
+                long maisAntiga = Math.max(1, ultimaSequencia - anel.length + 1);
+                if (assinante.ultimaEnviada + 1 < maisAntiga) {
+                    // Parte do que faltava já saiu do anel
+                    assinante.resincronizar = true;
+                    assinante.ultimaEnviada = ultimaSequencia;
+                }
+                for (long sequencia = assinante.ultimaEnviada + 1; sequencia <= ultimaSequencia; sequencia++) {
+                    AlteracaoAeroporto alteracao = anel[(int) (sequencia % anel.length)];
+                    if (alteracao == null) {
+                        // Importação: o que veio antes não importa mais, o cliente recarrega a lista
+                        assinante.resincronizar = true;
+                        assinante.ultimaEnviada = sequencia;
+                        pendentes.clear();
+                    } else {
+                        pendentes.add(alteracao);
+                    }
+                }
+            } finally {
+                travaAnel.unlock();
+            }
+            try {
+                if (assinante.resincronizar) {
+                    assinante.emitter.send(SseEmitter.event()
+                            .id(id(assinante.ultimaEnviada))
+                            .name(EVENTO_RESINCRONIZAR)
+                            .data(Map.of("ultimaSequencia", assinante.ultimaEnviada), MediaType.APPLICATION_JSON));
+                    assinante.resincronizar = false;
+                }
+                for (AlteracaoAeroporto alteracao : pendentes) {
+                    assinante.emitter.send(SseEmitter.event()
+                            .id(id(alteracao.sequencia()))
+                            .name(alteracao.tipo().name())
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                    assinante.ultimaEnviada = alteracao.sequencia();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já encerrado
+                assinantes.remove(assinante);
+                assinante.emitter.completeWithError(e);
+            }
+        } finally {
+            assinante.trava.unlock();
+        }
+    }
+
+    private String id(long sequencia) {
+        return instancia + "-" + sequencia;
+    }
+
+    // null se o id não for desta execução ou não tiver o formato instancia-sequencia
+    private Long sequenciaDoId(String ultimoId) {
+        if (ultimoId == null || !ultimoId.startsWith(instancia + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoId.substring(instancia.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
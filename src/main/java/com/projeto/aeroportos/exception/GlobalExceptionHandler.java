@@ -1,5 +1,6 @@
 package com.projeto.aeroportos.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -23,4 +24,16 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    // Outra requisição alterou o mesmo aeroporto entre a leitura e o UPDATE (@Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", "O aeroporto foi alterado por outra requisição. Leia-o novamente e repita a operação.");
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.projeto.aeroportos.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// If-Match não confere com o ETag atual: o aeroporto mudou depois que o cliente o leu
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    public VersaoDesatualizadaException(String codigoIata, String etagAtual) {
+        super("Aeroporto com código IATA '" + codigoIata + "' foi alterado (ETag atual " + etagAtual + ").");
+    }
+}
@@ -0,0 +1,23 @@
+package com.projeto.aeroportos.geo;
+
+// Cálculos de distância sobre a esfera terrestre (raio médio)
+public final class Distancias {
+
+    public static final double RAIO_TERRA_KM = 6371.0088;
+
+    // Quilômetros por grau de latitude
+    public static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    private Distancias() {
+    }
+
+    // Distância de grande círculo (fórmula de haversine), em km
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
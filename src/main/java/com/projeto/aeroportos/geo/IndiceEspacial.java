@@ -0,0 +1,224 @@
+package com.projeto.aeroportos.geo;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoProximo;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import com.projeto.aeroportos.evento.AeroportosImportadosEvent;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice espacial em memória: grade de células de 1° x 1° (lat/lon).
+// A busca só visita as células que cabem no raio pedido e calcula a distância
+// de grande círculo apenas para os aeroportos dessas células.
+// É carregado do banco na primeira consulta e mantido pelos eventos de alteração.
+@Component
+public class IndiceEspacial {
+
+    public static final double RAIO_MAXIMO_KM = Math.PI * Distancias.RAIO_TERRA_KM;
+    public static final int K_MAXIMO = 100;
+
+    private static final int CELULAS_LONGITUDE = 360;
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, List<Aeroporto>> celulas = new HashMap<>();
+    private final Map<String, Aeroporto> porCodigo = new HashMap<>();
+    private volatile boolean carregado = false;
+
+    // Os k aeroportos mais próximos de (latitude, longitude) dentro do raio, do mais perto ao mais longe
+    public List<AeroportoProximo> buscarProximos(double latitude, double longitude, double raioKm, int k) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude deve estar entre -90 e 90 e longitude entre -180 e 180.");
+        }
+        if (raioKm <= 0 || raioKm > RAIO_MAXIMO_KM) {
+            throw new IllegalArgumentException("O raio deve ser maior que 0 e no máximo " + (int) RAIO_MAXIMO_KM + " km.");
+        }
+        if (k < 1 || k > K_MAXIMO) {
+            throw new IllegalArgumentException("k deve estar entre 1 e " + K_MAXIMO + ".");
+        }
+        garantirCarregado();
+
+        // Heap de máximo: o topo é o pior dos k melhores até agora
+        PriorityQueue<AeroportoProximo> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble(AeroportoProximo::distanciaKm).reversed());
+
+        double deltaLat = raioKm / Distancias.KM_POR_GRAU;
+        int celulaLatMin = celulaLatitude(Math.max(-90, latitude - deltaLat));
+        int celulaLatMax = celulaLatitude(Math.min(90, latitude + deltaLat));
+
+        lock.readLock().lock();
+        try {
+            for (int celulaLat = celulaLatMin; celulaLat <= celulaLatMax; celulaLat++) {
+                int[] faixaLon = faixaLongitude(celulaLat, latitude, longitude, raioKm);
+                for (int passo = 0; passo < faixaLon[1]; passo++) {
+                    int celulaLon = Math.floorMod(faixaLon[0] + passo, CELULAS_LONGITUDE);
+                    List<Aeroporto> aeroportos = celulas.get(chave(celulaLat, celulaLon));
+                    if (aeroportos == null) {
+                        continue;
+                    }
+                    for (Aeroporto aeroporto : aeroportos) {
+                        double distancia = Distancias.haversineKm(latitude, longitude,
+                                aeroporto.getLatitude(), aeroporto.getLongitude());
+                        if (distancia > raioKm) {
+                            continue;
+                        }
+                        if (melhores.size() < k) {
+                            melhores.add(new AeroportoProximo(aeroporto, distancia));
+                        } else if (distancia < melhores.peek().distanciaKm()) {
+                            melhores.poll();
+                            melhores.add(new AeroportoProximo(aeroporto, distancia));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<AeroportoProximo> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(AeroportoProximo::distanciaKm));
+        return resultado;
+    }
+
+    // Substitui todo o conteúdo do índice
+    public void carregar(Collection<Aeroporto> aeroportos) {
+        lock.writeLock().lock();
+        try {
+            celulas.clear();
+            porCodigo.clear();
+            aeroportos.forEach(aeroporto -> adicionar(new Aeroporto(aeroporto)));
+            carregado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AeroportoAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            // Antes da primeira carga não há o que manter: a carga lerá o estado já commitado
+            if (!carregado) {
+                return;
+            }
+            remover(evento.codigoIata());
+            if (evento.aeroporto() != null) {
+                adicionar(evento.aeroporto());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Uma importação recarrega o índice inteiro do banco, uma vez
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportar(AeroportosImportadosEvent evento) {
+        lock.writeLock().lock();
+        try {
+            if (carregado) {
+                carregarDoBanco();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!carregado) {
+                carregarDoBanco();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Com o lock de escrita. Transação própria: o índice só deve ver dados já commitados
+    private void carregarDoBanco() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setReadOnly(true);
+        carregar(transacao.execute(status -> aeroportoRepository.findAll()));
+    }
+
+    // Chamados com o lock de escrita
+    private void adicionar(Aeroporto aeroporto) {
+        porCodigo.put(aeroporto.getCodigoIata(), aeroporto);
+        celulas.computeIfAbsent(chave(aeroporto), c -> new ArrayList<>()).add(aeroporto);
+    }
+
+    private void remover(String codigoIata) {
+        Aeroporto anterior = porCodigo.remove(codigoIata);
+        if (anterior == null) {
+            return;
+        }
+        int chave = chave(anterior);
+        List<Aeroporto> aeroportos = celulas.get(chave);
+        aeroportos.remove(anterior);
+        if (aeroportos.isEmpty()) {
+            celulas.remove(chave);
+        }
+    }
+
+    // Primeira célula de longitude e quantidade de células a visitar numa faixa de latitude.
+    // Pela haversine, um ponto na latitude φ a até d km do centro (latitude φ0) tem
+    // sen²(Δλ/2)·cos φ·cos φ0 <= sen²(d/2R); usa-se a borda da faixa mais próxima do polo
+    private static int[] faixaLongitude(int celulaLat, double latitude, double longitude, double raioKm) {
+        double latMaisAlta = Math.max(Math.abs(celulaLat - 90), Math.abs(celulaLat - 89));
+        double cosenos = Math.cos(Math.toRadians(latMaisAlta)) * Math.cos(Math.toRadians(latitude));
+        double seno = Math.sin(raioKm / (2 * Distancias.RAIO_TERRA_KM));
+        if (cosenos <= 0 || seno * seno >= cosenos) {
+            return new int[] {0, CELULAS_LONGITUDE};
+        }
+        double deltaLon = Math.toDegrees(2 * Math.asin(seno / Math.sqrt(cosenos)));
+        if (deltaLon >= 180) {
+            return new int[] {0, CELULAS_LONGITUDE};
+        }
+        int primeira = celulaLongitude(longitude - deltaLon);
+        int ultima = celulaLongitude(longitude + deltaLon);
+        return new int[] {primeira, Math.min(CELULAS_LONGITUDE, ultima - primeira + 1)};
+    }
+
+    // Latitude 90 cai na última faixa (89..90)
+    private static int celulaLatitude(double latitude) {
+        return Math.min(179, (int) Math.floor(latitude + 90));
+    }
+
+    // Sem módulo: quem chama aplica floorMod ao atravessar o antimeridiano
+    private static int celulaLongitude(double longitude) {
+        return (int) Math.floor(longitude + 180);
+    }
+
+    private static int chave(Aeroporto aeroporto) {
+        int celulaLon = Math.floorMod(celulaLongitude(aeroporto.getLongitude()), CELULAS_LONGITUDE);
+        return chave(celulaLatitude(aeroporto.getLatitude()), celulaLon);
+    }
+
+    private static int chave(int celulaLat, int celulaLon) {
+        return celulaLat * CELULAS_LONGITUDE + celulaLon;
+    }
+}
@@ -0,0 +1,94 @@
+package com.projeto.aeroportos.geo;
+
+import java.util.stream.IntStream;
+
+// Núcleo de cálculo da matriz origem x destino: distância de grande círculo (haversine)
+// e rumo inicial. As coordenadas ficam em arrays primitivos com seno/cosseno pré-calculados,
+// então o laço interno não aloca nada. Matrizes grandes são divididas por linha no
+// ForkJoinPool comum (stream paralelo).
+public final class MatrizDistancias {
+
+    // Abaixo disso o custo de dividir o trabalho supera o ganho
+    static final int PARES_PARA_PARALELIZAR = 16_384;
+
+    private final double[] latOrigem;
+    private final double[] lonOrigem;
+    private final double[] cosLatOrigem;
+    private final double[] senLatOrigem;
+    private final double[] latDestino;
+    private final double[] lonDestino;
+    private final double[] cosLatDestino;
+    private final double[] senLatDestino;
+
+    // Coordenadas em graus
+    public MatrizDistancias(double[] latOrigem, double[] lonOrigem, double[] latDestino, double[] lonDestino) {
+        this.latOrigem = emRadianos(latOrigem);
+        this.lonOrigem = emRadianos(lonOrigem);
+        this.latDestino = emRadianos(latDestino);
+        this.lonDestino = emRadianos(lonDestino);
+        this.cosLatOrigem = cossenos(this.latOrigem);
+        this.senLatOrigem = senos(this.latOrigem);
+        this.cosLatDestino = cossenos(this.latDestino);
+        this.senLatDestino = senos(this.latDestino);
+    }
+
+    // Preenche distanciasKm[i][j] e rumosGraus[i][j] (0 a 360, a partir do norte)
+    public void calcular(double[][] distanciasKm, double[][] rumosGraus) {
+        int linhas = latOrigem.length;
+        if ((long) linhas * latDestino.length >= PARES_PARA_PARALELIZAR) {
+            IntStream.range(0, linhas).parallel().forEach(i -> calcularLinha(i, distanciasKm[i], rumosGraus[i]));
+        } else {
+            for (int i = 0; i < linhas; i++) {
+                calcularLinha(i, distanciasKm[i], rumosGraus[i]);
+            }
+        }
+    }
+
+    private void calcularLinha(int i, double[] distancias, double[] rumos) {
+        double lat1 = latOrigem[i];
+        double lon1 = lonOrigem[i];
+        double cosLat1 = cosLatOrigem[i];
+        double senLat1 = senLatOrigem[i];
+        for (int j = 0; j < distancias.length; j++) {
+            double cosLat2 = cosLatDestino[j];
+            double senLat2 = senLatDestino[j];
+            double senMeioDLat = Math.sin((latDestino[j] - lat1) * 0.5);
+            double meioDLon = (lonDestino[j] - lon1) * 0.5;
+            double senMeioDLon = Math.sin(meioDLon);
+            double cosMeioDLon = Math.cos(meioDLon);
+
+            double a = senMeioDLat * senMeioDLat + cosLat1 * cosLat2 * senMeioDLon * senMeioDLon;
+            distancias[j] = 2 * Distancias.RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+
+            // sen(Δλ) e cos(Δλ) a partir do meio ângulo, sem chamadas extras de trigonometria
+            double senDLon = 2 * senMeioDLon * cosMeioDLon;
+            double cosDLon = 1 - 2 * senMeioDLon * senMeioDLon;
+            double rumo = Math.toDegrees(Math.atan2(senDLon * cosLat2, cosLat1 * senLat2 - senLat1 * cosLat2 * cosDLon));
+            rumos[j] = rumo < 0 ? rumo + 360 : rumo;
+        }
+    }
+
+    private static double[] emRadianos(double[] graus) {
+        double[] radianos = new double[graus.length];
+        for (int i = 0; i < graus.length; i++) {
+            radianos[i] = Math.toRadians(graus[i]);
+        }
+        return radianos;
+    }
+
+    private static double[] cossenos(double[] radianos) {
+        double[] resultado = new double[radianos.length];
+        for (int i = 0; i < radianos.length; i++) {
+            resultado[i] = Math.cos(radianos[i]);
+        }
+        return resultado;
+    }
+
+    private static double[] senos(double[] radianos) {
+        double[] resultado = new double[radianos.length];
+        for (int i = 0; i < radianos.length; i++) {
+            resultado[i] = Math.sin(radianos[i]);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,55 @@
+package com.projeto.aeroportos.importacao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+// Carga inicial para bancos persistentes (perfil prod): roda o script de população só se a
+// tabela estiver vazia, então reinícios não reimportam nada. O data.sql é um único INSERT com
+// todas as linhas (uma ida ao banco); cargas grandes devem usar POST /import
+@Component
+@ConditionalOnProperty(prefix = "aeroportos.carga-inicial", name = "habilitada")
+public class CargaInicialAeroportos implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${aeroportos.carga-inicial.script:classpath:data.sql}")
+    private Resource script;
+
+    // Roda antes do ApplicationReadyEvent, ou seja, antes dos índices em memória carregarem
+    @Override
+    public void run(ApplicationArguments args) {
+        carregarSeVazio();
+    }
+
+    // true se populou a tabela
+    public boolean carregarSeVazio() {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM aeroporto)", Boolean.class))) {
+                return false;
+            }
+            jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+                ScriptUtils.executeSqlScript(conexao, new EncodedResource(script, StandardCharsets.UTF_8));
+                return null;
+            });
+            return true;
+        }));
+    }
+}
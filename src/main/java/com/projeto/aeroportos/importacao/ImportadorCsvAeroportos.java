@@ -0,0 +1,207 @@
+package com.projeto.aeroportos.importacao;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.RelatorioImportacao;
+import com.projeto.aeroportos.dto.RelatorioImportacao.LinhaRejeitada;
+import com.projeto.aeroportos.evento.AeroportosImportadosEvent;
+import com.projeto.aeroportos.repository.AeroportoLoteRepository;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import com.projeto.aeroportos.repository.RevisaoRepository;
+import com.projeto.aeroportos.service.AeroportoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Importação em massa de aeroportos a partir do CSV do OurAirports (airports.csv).
+// O arquivo é lido em streaming e gravado em lotes JDBC; a checagem de duplicados usa
+// um único SELECT dos códigos existentes, em vez de um existsByCodigoIata por linha.
+// No fim publica um único AeroportosImportadosEvent (e não um evento por linha): índices e
+// caches recarregam do banco uma vez, depois do commit.
+@Service
+public class ImportadorCsvAeroportos {
+
+    public static final int MAXIMO_REJEICOES_DETALHADAS = 1000;
+
+    // Colunas do OurAirports usadas na importação
+    static final String COLUNA_NOME = "name";
+    static final String COLUNA_IATA = "iata_code";
+    static final String COLUNA_CIDADE = "municipality";
+    static final String COLUNA_PAIS = "iso_country";
+    static final String COLUNA_LATITUDE = "latitude_deg";
+    static final String COLUNA_LONGITUDE = "longitude_deg";
+    static final String COLUNA_ALTITUDE_PES = "elevation_ft";
+
+    // Alternativa aceita no lugar de iso_country: nome do país (convertido por obterIsoPais)
+    static final String COLUNA_NOME_PAIS = "country";
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private AeroportoLoteRepository aeroportoLoteRepository;
+
+    @Autowired
+    private RevisaoRepository revisaoRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public RelatorioImportacao importar(InputStream csv) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        List<String> cabecalho = leitor.proximoRegistro();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio.");
+        }
+        Map<String, Integer> colunas = mapearColunas(cabecalho);
+
+        // A importação inteira vai numa única revisão
+        long revisao = revisaoRepository.proximaRevisao();
+        Set<String> codigosVistos = new HashSet<>(aeroportoRepository.findTodosCodigosIata());
+        List<Aeroporto> lote = new ArrayList<>(aeroportoLoteRepository.getTamanhoLote());
+        List<LinhaRejeitada> rejeitadas = new ArrayList<>();
+        long linhasLidas = 0;
+        long importadas = 0;
+        long semCodigoIata = 0;
+        long totalRejeitadas = 0;
+
+        List<String> registro;
+        while ((registro = leitor.proximoRegistro()) != null) {
+            linhasLidas++;
+            String codigoIata = valor(registro, colunas, COLUNA_IATA).toUpperCase(Locale.ROOT);
+
+            // A maioria dos aeródromos do OurAirports não tem código IATA: não é erro, só não entra
+            if (codigoIata.isEmpty()) {
+                semCodigoIata++;
+                continue;
+            }
+
+            String motivo;
+            Aeroporto aeroporto = null;
+            try {
+                aeroporto = converter(registro, colunas, codigoIata);
+                motivo = validar(aeroporto);
+            } catch (NumberFormatException e) {
+                motivo = "Valor numérico inválido: " + e.getMessage();
+            }
+            if (motivo == null && !codigosVistos.add(codigoIata)) {
+                motivo = "Aeroporto com código IATA '" + codigoIata + "' já existe.";
+            }
+
+            if (motivo != null) {
+                totalRejeitadas++;
+                if (rejeitadas.size() < MAXIMO_REJEICOES_DETALHADAS) {
+                    rejeitadas.add(new LinhaRejeitada(leitor.getLinhaDoRegistro(), codigoIata, motivo));
+                }
+                continue;
+            }
+
+            aeroporto.setRevisao(revisao);
+            lote.add(aeroporto);
+            if (lote.size() == aeroportoLoteRepository.getTamanhoLote()) {
+                importadas += gravar(lote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            importadas += gravar(lote);
+        }
+        if (importadas > 0) {
+            eventPublisher.publishEvent(new AeroportosImportadosEvent(revisao, importadas));
+        }
+
+        return new RelatorioImportacao(linhasLidas, importadas, semCodigoIata, totalRejeitadas, rejeitadas);
+    }
+
+    private int gravar(List<Aeroporto> lote) {
+        revisaoRepository.descartarRemocoes(lote.stream().map(Aeroporto::getCodigoIata).toList());
+        aeroportoLoteRepository.inserirTodos(lote);
+        int gravados = lote.size();
+        lote.clear();
+        return gravados;
+    }
+
+    private Map<String, Integer> mapearColunas(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String obrigatoria : List.of(COLUNA_NOME, COLUNA_IATA, COLUNA_CIDADE,
+                COLUNA_LATITUDE, COLUNA_LONGITUDE, COLUNA_ALTITUDE_PES)) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no CSV: " + obrigatoria);
+            }
+        }
+        if (!colunas.containsKey(COLUNA_PAIS) && !colunas.containsKey(COLUNA_NOME_PAIS)) {
+            throw new IllegalArgumentException(
+                    "O CSV deve ter a coluna " + COLUNA_PAIS + " ou " + COLUNA_NOME_PAIS + ".");
+        }
+        return colunas;
+    }
+
+    private Aeroporto converter(List<String> registro, Map<String, Integer> colunas, String codigoIata) {
+        Aeroporto aeroporto = new Aeroporto();
+        aeroporto.setCodigoIata(codigoIata);
+        aeroporto.setNome(valor(registro, colunas, COLUNA_NOME));
+        aeroporto.setCidade(valor(registro, colunas, COLUNA_CIDADE));
+        aeroporto.setCodigoPaisIso(codigoPais(registro, colunas));
+        aeroporto.setLatitude(numero(valor(registro, colunas, COLUNA_LATITUDE)));
+        aeroporto.setLongitude(numero(valor(registro, colunas, COLUNA_LONGITUDE)));
+
+        // O CSV traz a altitude em pés; a API guarda em metros
+        Double altitudePes = numero(valor(registro, colunas, COLUNA_ALTITUDE_PES));
+        aeroporto.setAltitude(altitudePes == null ? null : AeroportoService.converterPesParaMetros(altitudePes));
+        return aeroporto;
+    }
+
+    private String codigoPais(List<String> registro, Map<String, Integer> colunas) {
+        if (colunas.containsKey(COLUNA_PAIS)) {
+            return valor(registro, colunas, COLUNA_PAIS).toUpperCase(Locale.ROOT);
+        }
+        String nomePais = valor(registro, colunas, COLUNA_NOME_PAIS);
+        return nomePais.isEmpty() ? "" : AeroportoService.obterIsoPais(nomePais);
+    }
+
+    // Mesmas regras de validação da API (anotações de Aeroporto); null se estiver válido
+    private String validar(Aeroporto aeroporto) {
+        Set<ConstraintViolation<Aeroporto>> violacoes = validator.validate(aeroporto);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String valor(List<String> registro, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= registro.size()) {
+            return "";
+        }
+        return registro.get(indice).trim();
+    }
+
+    private static Double numero(String valor) {
+        return valor.isEmpty() ? null : Double.valueOf(valor);
+    }
+}
@@ -0,0 +1,83 @@
+package com.projeto.aeroportos.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitor de CSV (RFC 4180) que lê um registro por vez, sem carregar o arquivo inteiro.
+// Suporta campos entre aspas com vírgulas, quebras de linha e aspas duplicadas ("").
+public class LeitorCsv {
+
+    private final Reader reader;
+    private final StringBuilder campo = new StringBuilder();
+    private long linhasConsumidas = 0;
+    private long linhaDoRegistro = 0;
+    private boolean fim = false;
+
+    public LeitorCsv(Reader reader) {
+        // Lido caractere a caractere: precisa de buffer (e de mark/reset para as aspas)
+        this.reader = reader.markSupported() ? reader : new BufferedReader(reader, 64 * 1024);
+    }
+
+    // Próximo registro ou null no fim do arquivo
+    public List<String> proximoRegistro() throws IOException {
+        if (fim) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+        linhaDoRegistro = linhasConsumidas + 1;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            leuAlgo = true;
+            char ch = (char) c;
+            if (entreAspas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int proximo = reader.read();
+                    if (proximo == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (proximo != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        linhasConsumidas++;
+                    }
+                    campo.append(ch);
+                }
+            } else if (ch == '"') {
+                entreAspas = true;
+            } else if (ch == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n') {
+                linhasConsumidas++;
+                campos.add(campo.toString());
+                return campos;
+            } else if (ch != '\r') {
+                campo.append(ch);
+            }
+        }
+
+        fim = true;
+        if (!leuAlgo) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Número da linha física (a partir de 1) onde começa o último registro lido
+    public long getLinhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+}
@@ -0,0 +1,57 @@
+package com.projeto.aeroportos.reativo;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+// Handlers das rotas reativas (somente leitura); as escritas continuam no AeroportoController
+@Component
+@ConditionalOnProperty(prefix = "aeroportos.reativo", name = "habilitado")
+public class AeroportoReativoHandler {
+
+    @Autowired
+    private AeroportoReativoRepository aeroportoReativoRepository;
+
+    // GET /api/v1/aeroportos - Lista como array JSON, serializado à medida que as linhas chegam
+    public Mono<ServerResponse> listarTodos(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(aeroportoReativoRepository.listarTodos(), Aeroporto.class);
+    }
+
+    // GET /api/v1/aeroportos/stream - Um JSON por linha (NDJSON), enviado item a item
+    public Mono<ServerResponse> transmitirTodos(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(aeroportoReativoRepository.listarTodos(), Aeroporto.class);
+    }
+
+    // GET /api/v1/aeroportos/{iata}
+    public Mono<ServerResponse> buscarPorIata(ServerRequest request) {
+        String codigoIata = request.pathVariable("iata");
+        return aeroportoReativoRepository.buscarPorIata(codigoIata.toUpperCase(Locale.ROOT))
+                .flatMap(aeroporto -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(aeroporto))
+                .switchIfEmpty(Mono.defer(() -> naoEncontrado(codigoIata)));
+    }
+
+    // Mesmo formato de erro do GlobalExceptionHandler
+    private static Mono<ServerResponse> naoEncontrado(String codigoIata) {
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "timestamp", LocalDateTime.now().toString(),
+                        "status", HttpStatus.NOT_FOUND.value(),
+                        "error", "Not Found",
+                        "message", "Aeroporto com código IATA '" + codigoIata + "' não encontrado."));
+    }
+}
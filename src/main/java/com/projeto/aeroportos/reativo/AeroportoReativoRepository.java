@@ -0,0 +1,86 @@
+package com.projeto.aeroportos.reativo;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Leituras não bloqueantes (R2DBC) da mesma base H2 usada pelo JPA.
+// O pool R2DBC é criado aqui e não exposto como bean: uma ConnectionFactory no contexto
+// faria o Spring Boot rodar schema.sql/data.sql por R2DBC em vez do DataSource
+// (e criar um segundo gerenciador de transações). Só existe com a API reativa habilitada
+// (perfil reativo); desligada, que é o padrão, bancos que não são H2 (ex.: MySQL) sobem normalmente
+@Repository
+@ConditionalOnProperty(prefix = "aeroportos.reativo", name = "habilitado")
+public class AeroportoReativoRepository {
+
+    private static final String PREFIXO_URL_H2 = "jdbc:h2:";
+
+    private static final String SQL_SELECIONAR =
+            "SELECT id_aeroporto, nome_aeroporto, codigo_iata, cidade, codigo_pais_iso, "
+            + "latitude, longitude, altitude, versao, revisao FROM aeroporto";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public AeroportoReativoRepository(DataSourceProperties dataSourceProperties,
+                                      @Value("${aeroportos.reativo.pool-maximo:10}") int poolMaximo) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(PREFIXO_URL_H2)) {
+            throw new IllegalStateException("A API reativa só suporta H2 (spring.datasource.url=" + url + ").");
+        }
+        H2ConnectionConfiguration configuracao = H2ConnectionConfiguration.builder()
+                .url(url.substring(PREFIXO_URL_H2.length()))
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuracao))
+                .maxSize(poolMaximo)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    // Linhas emitidas conforme a demanda do assinante (backpressure até o driver)
+    public Flux<Aeroporto> listarTodos() {
+        return databaseClient.sql(SQL_SELECIONAR + " ORDER BY id_aeroporto")
+                .map(AeroportoReativoRepository::converter)
+                .all();
+    }
+
+    public Mono<Aeroporto> buscarPorIata(String codigoIata) {
+        return databaseClient.sql(SQL_SELECIONAR + " WHERE codigo_iata = :codigoIata")
+                .bind("codigoIata", codigoIata)
+                .map(AeroportoReativoRepository::converter)
+                .one();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        pool.dispose();
+    }
+
+    private static Aeroporto converter(Readable linha) {
+        Aeroporto aeroporto = new Aeroporto(
+                linha.get("nome_aeroporto", String.class),
+                linha.get("codigo_iata", String.class),
+                linha.get("cidade", String.class),
+                linha.get("codigo_pais_iso", String.class),
+                linha.get("latitude", Double.class),
+                linha.get("longitude", Double.class),
+                linha.get("altitude", Double.class));
+        aeroporto.setId(linha.get("id_aeroporto", Long.class));
+        aeroporto.setVersao(linha.get("versao", Long.class));
+        aeroporto.setRevisao(linha.get("revisao", Long.class));
+        return aeroporto;
+    }
+}
@@ -0,0 +1,78 @@
+package com.projeto.aeroportos.reativo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+// Servidor Netty próprio para a API reativa, ao lado do Tomcat do Spring MVC
+// (a aplicação continua sendo servlet; o WebFlux roda só aqui, com rotas funcionais).
+// Poucas threads de event loop atendem milhares de clientes lentos, porque nenhuma
+// fica bloqueada esperando o banco ou a rede. Só sobe com aeroportos.reativo.habilitado=true
+// (perfil reativo): é uma segunda porta, sem autenticação
+@Component
+@ConditionalOnProperty(prefix = "aeroportos.reativo", name = "habilitado")
+public class ServidorReativo implements SmartLifecycle {
+
+    @Autowired
+    private AeroportoReativoHandler handler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${aeroportos.reativo.porta:8081}")
+    private int porta;
+
+    private volatile DisposableServer servidor;
+
+    public RouterFunction<ServerResponse> rotas() {
+        return RouterFunctions.route()
+                .GET("/api/v1/aeroportos", handler::listarTodos)
+                .GET("/api/v1/aeroportos/stream", handler::transmitirTodos)
+                .GET("/api/v1/aeroportos/{iata}", handler::buscarPorIata)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        // Mesmo ObjectMapper do Spring MVC, para o JSON sair igual nas duas APIs
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adaptador =
+                new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(rotas(), estrategias));
+        servidor = HttpServer.create().port(porta).handle(adaptador).bindNow();
+    }
+
+    @Override
+    public void stop() {
+        if (servidor != null) {
+            servidor.disposeNow();
+            servidor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    // Porta efetiva (útil quando aeroportos.reativo.porta=0)
+    public int getPorta() {
+        return servidor != null ? servidor.port() : porta;
+    }
+}
@@ -0,0 +1,97 @@
+package com.projeto.aeroportos.repository;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// Inserção em lote via JDBC. Com id IDENTITY o Hibernate não agrupa INSERTs
+// (precisa do id gerado de cada linha), então gravações em massa passam por aqui.
+// Deve ser chamado dentro de uma transação: o JdbcTemplate usa a mesma conexão do JPA.
+@Repository
+public class AeroportoLoteRepository {
+
+    // Espaço de consulta (tabela) do Aeroporto no query cache do Hibernate
+    private static final String[] ESPACOS_CONSULTA = {"aeroporto"};
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO aeroporto (nome_aeroporto, codigo_iata, cidade, codigo_pais_iso, latitude, longitude, altitude, versao, revisao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Mesmo tamanho de lote configurado para o Hibernate
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int tamanhoLote;
+
+    // Insere em lotes de tamanhoLote e preenche o id gerado (e a versão inicial) de cada aeroporto.
+    // Exige uma transação aberta: a invalidação do query cache é registrada na sessão dela
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void inserirTodos(List<Aeroporto> aeroportos) {
+        invalidarConsultasEmCache();
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            try (PreparedStatement ps = conexao.prepareStatement(SQL_INSERIR, Statement.RETURN_GENERATED_KEYS)) {
+                int inicioLote = 0;
+                for (int i = 0; i < aeroportos.size(); i++) {
+                    Aeroporto aeroporto = aeroportos.get(i);
+                    ps.setString(1, aeroporto.getNome());
+                    ps.setString(2, aeroporto.getCodigoIata());
+                    ps.setString(3, aeroporto.getCidade());
+                    ps.setString(4, aeroporto.getCodigoPaisIso());
+                    ps.setDouble(5, aeroporto.getLatitude());
+                    ps.setDouble(6, aeroporto.getLongitude());
+                    ps.setDouble(7, aeroporto.getAltitude());
+                    ps.setLong(8, aeroporto.getRevisao());
+                    ps.addBatch();
+
+                    if (i + 1 - inicioLote == tamanhoLote || i == aeroportos.size() - 1) {
+                        ps.executeBatch();
+                        try (ResultSet chaves = ps.getGeneratedKeys()) {
+                            int posicao = inicioLote;
+                            while (chaves.next()) {
+                                Aeroporto inserido = aeroportos.get(posicao++);
+                                inserido.setId(chaves.getLong(1));
+                                inserido.setVersao(0L);
+                            }
+                        }
+                        inicioLote = i + 1;
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // O Hibernate não vê INSERTs feitos por JDBC: marca a tabela como alterada no query cache
+    // agora (resultados guardados até o commit já nascem vencidos) e de novo ao fim da
+    // transação, como ele faz nas próprias operações em massa. As entidades novas ainda não
+    // estão no cache de segundo nível, então só as consultas precisam ser descartadas
+    private void invalidarConsultasEmCache() {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        TimestampsCache timestamps = sessao.getFactory().getCache().getTimestampsCache();
+        timestamps.preInvalidate(ESPACOS_CONSULTA, sessao);
+        sessao.getActionQueue().registerProcess(
+                (sucesso, sessaoAtual) -> timestamps.invalidate(ESPACOS_CONSULTA, sessaoAtual));
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+}
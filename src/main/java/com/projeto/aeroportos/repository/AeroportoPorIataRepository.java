@@ -0,0 +1,12 @@
+package com.projeto.aeroportos.repository;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+
+import java.util.Optional;
+
+// Fragmento do AeroportoRepository: busca pela chave natural (código IATA), que passa pelo
+// cache de segundo nível em vez de uma consulta derivada
+public interface AeroportoPorIataRepository {
+
+    Optional<Aeroporto> findByCodigoIata(String codigoIata);
+}
@@ -0,0 +1,25 @@
+package com.projeto.aeroportos.repository;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Com o código no cache de @NaturalIdCache e a entidade no cache de @Cache, a busca
+// não vai ao banco; sem eles, é um SELECT pelo índice único de codigo_iata
+public class AeroportoPorIataRepositoryImpl implements AeroportoPorIataRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Aeroporto> findByCodigoIata(String codigoIata) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Aeroporto.class)
+                .loadOptional(codigoIata);
+    }
+}
@@ -1,20 +1,88 @@
 package com.projeto.aeroportos.repository;
 
 import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoResumo;
+import com.projeto.aeroportos.dto.ResumoVersoes;
+import com.projeto.aeroportos.dto.VersaoAeroporto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AeroportoRepository extends JpaRepository<Aeroporto, Long> {
-    
-    // Busca por código IATA
-    Optional<Aeroporto> findByCodigoIata(String codigoIata);
-    
+public interface AeroportoRepository extends JpaRepository<Aeroporto, Long>, AeroportoPorIataRepository {
+
+    // Lista todos; o resultado vai para o query cache do Hibernate (ids) e as entidades
+    // para o cache de segundo nível, até a próxima escrita na tabela
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Aeroporto> findAll();
+
+    // Busca vários códigos IATA numa única consulta (IN)
+    List<Aeroporto> findByCodigoIataIn(Collection<String> codigosIata);
+
     // Verifica se existe pelo código IATA
     boolean existsByCodigoIata(String codigoIata);
     
     // Deleta por código IATA
     void deleteByCodigoIata(String codigoIata);
+
+    // Filtros da listagem. Cada um usa um índice (ver @Table do Aeroporto e schema.sql):
+    // país e país + cidade usam idx_aeroporto_pais_cidade; a caixa de coordenadas usa
+    // idx_aeroporto_lat_lon (faixa na latitude, longitude conferida no próprio índice)
+    List<Aeroporto> findByCodigoPaisIsoOrderByCodigoIata(String codigoPaisIso);
+
+    List<Aeroporto> findByCodigoPaisIsoAndCidadeOrderByCodigoIata(String codigoPaisIso, String cidade);
+
+    List<Aeroporto> findByLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(
+            double latitudeMinima, double latitudeMaxima, double longitudeMinima, double longitudeMaxima);
+
+    List<Aeroporto> findByCodigoPaisIsoAndLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(
+            String codigoPaisIso, double latitudeMinima, double latitudeMaxima,
+            double longitudeMinima, double longitudeMaxima);
+
+    // Sincronização incremental: alterados depois de uma revisão (idx_aeroporto_revisao)
+    List<Aeroporto> findByRevisaoGreaterThanOrderByRevisaoAscCodigoIataAsc(long revisao);
+
+    // Só id e versão (ETag) sem carregar a linha inteira
+    @Query("select new com.projeto.aeroportos.dto.VersaoAeroporto(a.id, a.versao) "
+            + "from Aeroporto a where a.codigoIata = :codigoIata")
+    Optional<VersaoAeroporto> findVersaoByCodigoIata(String codigoIata);
+
+    // Resumo da tabela inteira para o ETag da coleção (uma linha, sem ler as entidades)
+    @Query("select new com.projeto.aeroportos.dto.ResumoVersoes(count(a), coalesce(sum(a.id), 0), "
+            + "coalesce(sum(a.versao), 0)) from Aeroporto a")
+    ResumoVersoes resumirVersoes();
+
+    // Listagem resumida: só três colunas, sem hidratar entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.projeto.aeroportos.dto.AeroportoResumo(a.codigoIata, a.nome, a.cidade) "
+            + "from Aeroporto a order by a.codigoIata")
+    List<AeroportoResumo> findTodosResumos();
+
+    // Todos os códigos IATA cadastrados (checagem de duplicados em importações)
+    @Query("select a.codigoIata from Aeroporto a")
+    List<String> findTodosCodigosIata();
+
+    // Paginação por cursor (keyset): usa o índice único de codigo_iata, sem OFFSET.
+    // O Pageable deve ser sempre da página 0 - só o tamanho é usado como LIMIT
+    List<Aeroporto> findByCodigoIataGreaterThanOrderByCodigoIataAsc(String codigoIata, Pageable pageable);
+
+    // Percorre a tabela inteira sob demanda (exige transação aberta e deve ser fechado).
+    // O fetch size limita quantas linhas o driver traz por ida ao banco; no MySQL o
+    // cursor no servidor depende de useCursorFetch=true na URL
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Aeroporto a order by a.id")
+    Stream<Aeroporto> streamTodos();
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.projeto.aeroportos.repository;
+
+import com.projeto.aeroportos.dto.AeroportoRemovido;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Contador de revisões (tabela revisao_aeroportos, uma linha) e lápides dos aeroportos
+// removidos (aeroporto_removido), base da sincronização incremental.
+// As escritas devem ser chamadas dentro de uma transação: o JdbcTemplate usa a mesma conexão do JPA.
+@Repository
+public class RevisaoRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Incrementa e devolve o contador. O UPDATE trava a linha até o fim da transação, então
+    // duas escritas nunca commitam fora da ordem das suas revisões: quem lê o contador e
+    // depois as linhas com revisão menor ou igual a ele não perde nenhuma ainda pendente
+    public long proximaRevisao() {
+        jdbcTemplate.update("UPDATE revisao_aeroportos SET valor = valor + 1 WHERE id = 1");
+        return revisaoAtual();
+    }
+
+    public long revisaoAtual() {
+        return jdbcTemplate.queryForObject("SELECT valor FROM revisao_aeroportos WHERE id = 1", Long.class);
+    }
+
+    // Grava (ou substitui) a lápide de um código removido
+    public void registrarRemocao(String codigoIata, long revisao) {
+        jdbcTemplate.update("DELETE FROM aeroporto_removido WHERE codigo_iata = ?", codigoIata);
+        jdbcTemplate.update("INSERT INTO aeroporto_removido (codigo_iata, revisao) VALUES (?, ?)", codigoIata, revisao);
+    }
+
+    // Um código criado de novo deixa de estar removido
+    public void descartarRemocoes(Collection<String> codigosIata) {
+        if (codigosIata.isEmpty()) {
+            return;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).update(
+                "DELETE FROM aeroporto_removido WHERE codigo_iata IN (:codigos)",
+                new MapSqlParameterSource("codigos", codigosIata));
+    }
+
+    // Lápides posteriores à revisão informada (usa idx_aeroporto_removido_revisao)
+    public List<AeroportoRemovido> findRemovidosDesde(long revisao) {
+        return jdbcTemplate.query(
+                "SELECT codigo_iata, revisao FROM aeroporto_removido WHERE revisao > ? ORDER BY revisao, codigo_iata",
+                (linha, numero) -> new AeroportoRemovido(linha.getString("codigo_iata"), linha.getLong("revisao")),
+                revisao);
+    }
+}
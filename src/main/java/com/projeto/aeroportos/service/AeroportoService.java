@@ -1,32 +1,313 @@
 package com.projeto.aeroportos.service;
 
+import com.projeto.aeroportos.cache.CacheIata;
+import com.projeto.aeroportos.cache.CargasIataEmAndamento;
 import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoResumo;
+import com.projeto.aeroportos.dto.AlteracoesDesde;
+import com.projeto.aeroportos.dto.FiltroAeroportos;
+import com.projeto.aeroportos.dto.PaginaAeroportos;
+import com.projeto.aeroportos.dto.ResultadoBuscaMultipla;
+import com.projeto.aeroportos.dto.ResultadoLote;
+import com.projeto.aeroportos.dto.VersaoAeroporto;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
 import com.projeto.aeroportos.exception.AeroportoNaoEncontradoException;
+import com.projeto.aeroportos.exception.VersaoDesatualizadaException;
+import com.projeto.aeroportos.repository.AeroportoLoteRepository;
 import com.projeto.aeroportos.repository.AeroportoRepository;
+import com.projeto.aeroportos.repository.RevisaoRepository;
+import com.projeto.aeroportos.snapshot.SnapshotAeroportos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AeroportoService {
 
+    public static final int LIMITE_MAXIMO_PAGINA = 1000;
+    public static final int LIMITE_MAXIMO_LOTE = 1000;
+    public static final int LIMITE_MAXIMO_BUSCA_MULTIPLA = 500;
+
     @Autowired
     private AeroportoRepository aeroportoRepository;
 
-    // Listar todos aeroportos
+    @Autowired
+    private AeroportoLoteRepository aeroportoLoteRepository;
+
+    @Autowired
+    private RevisaoRepository revisaoRepository;
+
+    @Autowired
+    private CacheIata cacheIata;
+
+    @Autowired
+    private CargasIataEmAndamento cargasIata;
+
+    // Só existe com aeroportos.snapshot.habilitado=true; aí as leituras por IATA e por caixa
+    // de coordenadas saem do arquivo mapeado, sem ir ao banco
+    @Autowired(required = false)
+    private SnapshotAeroportos snapshotAeroportos;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Listar todos aeroportos (transação somente leitura: o Hibernate não guarda snapshots
+    // para dirty checking nem faz flush)
+    @Transactional(readOnly = true)
     public List<Aeroporto> listarTodos() {
         return aeroportoRepository.findAll();
     }
 
-    // Buscar por IATA
+    // Listar só os campos pedidos; hoje todos cabem na projeção AeroportoResumo
+    @Transactional(readOnly = true)
+    public List<AeroportoResumo> listarResumos(List<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new IllegalArgumentException("Informe pelo menos um campo em fields.");
+        }
+        for (String campo : campos) {
+            if (!AeroportoResumo.CAMPOS.contains(campo.trim())) {
+                throw new IllegalArgumentException("Campo '" + campo.trim() + "' não disponível em fields. Use: "
+                        + AeroportoResumo.CAMPOS.stream().sorted().collect(Collectors.joining(", ")) + ".");
+            }
+        }
+        return aeroportoRepository.findTodosResumos();
+    }
+
+    // Percorrer todos os aeroportos sem carregá-los de uma vez: cada entidade é
+    // desanexada depois de consumida, então o contexto de persistência não cresce
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<Aeroporto> consumidor) {
+        try (Stream<Aeroporto> aeroportos = aeroportoRepository.streamTodos()) {
+            aeroportos.forEach(aeroporto -> {
+                consumidor.accept(aeroporto);
+                entityManager.detach(aeroporto);
+            });
+        }
+    }
+
+    // Listar uma página ordenada por código IATA, começando depois do cursor informado
+    public PaginaAeroportos listarPagina(String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+        String apos = cursor == null ? "" : cursor.toUpperCase();
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<Aeroporto> itens = aeroportoRepository.findByCodigoIataGreaterThanOrderByCodigoIataAsc(
+                apos, PageRequest.of(0, limite + 1));
+        if (itens.size() <= limite) {
+            return new PaginaAeroportos(itens, null);
+        }
+        List<Aeroporto> pagina = itens.subList(0, limite);
+        return new PaginaAeroportos(pagina, pagina.get(limite - 1).getCodigoIata());
+    }
+
+    // Listar com filtros de país, cidade e caixa de coordenadas, ordenado por IATA.
+    // Cada combinação vai para um método do repositório que usa um índice; só cidade com
+    // caixa filtra em memória, sobre o resultado (pequeno) de país + cidade
+    @Transactional(readOnly = true)
+    public List<Aeroporto> filtrar(FiltroAeroportos filtro) {
+        String pais = filtro.codigoPaisIso() == null ? null : filtro.codigoPaisIso().toUpperCase();
+        if (pais != null && !pais.matches("^[A-Z]{2}$")) {
+            throw new IllegalArgumentException("codigoPaisIso deve ter exatamente 2 letras (ISO 3166-1).");
+        }
+        if (filtro.cidade() != null && pais == null) {
+            throw new IllegalArgumentException("O filtro cidade exige codigoPaisIso.");
+        }
+        if (filtro.temCaixa()) {
+            validarCaixa(filtro);
+        }
+
+        if (snapshotAeroportos != null && filtro.cidade() == null && filtro.temCaixa()) {
+            return snapshotAeroportos.filtrarPorCaixa(pais, filtro.latMin(), filtro.latMax(),
+                    filtro.lonMin(), filtro.lonMax());
+        }
+        if (pais != null && filtro.cidade() != null) {
+            List<Aeroporto> naCidade = aeroportoRepository.findByCodigoPaisIsoAndCidadeOrderByCodigoIata(pais, filtro.cidade());
+            return filtro.temCaixa() ? naCidade.stream().filter(a -> dentroDaCaixa(a, filtro)).toList() : naCidade;
+        }
+        if (pais != null && filtro.temCaixa()) {
+            return aeroportoRepository.findByCodigoPaisIsoAndLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(
+                    pais, filtro.latMin(), filtro.latMax(), filtro.lonMin(), filtro.lonMax());
+        }
+        if (pais != null) {
+            return aeroportoRepository.findByCodigoPaisIsoOrderByCodigoIata(pais);
+        }
+        if (filtro.temCaixa()) {
+            return aeroportoRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(
+                    filtro.latMin(), filtro.latMax(), filtro.lonMin(), filtro.lonMax());
+        }
+        throw new IllegalArgumentException("Informe codigoPaisIso ou a caixa latMin, latMax, lonMin e lonMax.");
+    }
+
+    private static void validarCaixa(FiltroAeroportos filtro) {
+        if (filtro.latMin() == null || filtro.latMax() == null || filtro.lonMin() == null || filtro.lonMax() == null) {
+            throw new IllegalArgumentException("A caixa de coordenadas exige latMin, latMax, lonMin e lonMax.");
+        }
+        if (filtro.latMin() < -90 || filtro.latMax() > 90 || filtro.latMin() > filtro.latMax()) {
+            throw new IllegalArgumentException("A latitude deve estar entre -90 e 90, com latMin <= latMax.");
+        }
+        // Uma caixa que atravessa o antimeridiano vira duas consultas no cliente
+        if (filtro.lonMin() < -180 || filtro.lonMax() > 180 || filtro.lonMin() > filtro.lonMax()) {
+            throw new IllegalArgumentException("A longitude deve estar entre -180 e 180, com lonMin <= lonMax.");
+        }
+    }
+
+    private static boolean dentroDaCaixa(Aeroporto aeroporto, FiltroAeroportos filtro) {
+        return aeroporto.getLatitude() >= filtro.latMin() && aeroporto.getLatitude() <= filtro.latMax()
+                && aeroporto.getLongitude() >= filtro.lonMin() && aeroporto.getLongitude() <= filtro.lonMax();
+    }
+
+    // Alterações depois da revisão since (criados/atualizados e lápides dos removidos); sem since,
+    // todos os aeroportos. O contador é lido antes das linhas: tudo até ele já está commitado
+    // (ver RevisaoRepository); uma escrita que commitar no meio pode vir repetida na próxima
+    // chamada, nunca perdida
+    @Transactional(readOnly = true)
+    public AlteracoesDesde listarAlteracoes(Long since) {
+        long revisaoAtual = revisaoRepository.revisaoAtual();
+        if (since == null) {
+            // As linhas do data.sql estão na revisão 0
+            return new AlteracoesDesde(revisaoAtual,
+                    aeroportoRepository.findByRevisaoGreaterThanOrderByRevisaoAscCodigoIataAsc(-1), List.of());
+        }
+        if (since < 0 || since > revisaoAtual) {
+            throw new IllegalArgumentException("since deve estar entre 0 e a revisão atual (" + revisaoAtual + ").");
+        }
+        return new AlteracoesDesde(revisaoAtual,
+                aeroportoRepository.findByRevisaoGreaterThanOrderByRevisaoAscCodigoIataAsc(since),
+                revisaoRepository.findRemovidosDesde(since));
+    }
+
+    // Buscar por IATA (lê primeiro do cache em memória; falhas simultâneas do mesmo código
+    // compartilham uma única consulta ao banco)
     public Aeroporto buscarPorIata(String codigoIata) {
         String iataUpper = codigoIata.toUpperCase();
-        return aeroportoRepository.findByCodigoIata(iataUpper)
+        if (snapshotAeroportos != null) {
+            Aeroporto noSnapshot = snapshotAeroportos.buscar(iataUpper);
+            if (noSnapshot == null) {
+                throw new AeroportoNaoEncontradoException(codigoIata);
+            }
+            return noSnapshot;
+        }
+        Aeroporto emCache = cacheIata.buscar(iataUpper);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        return cargasIata.carregar(iataUpper, () -> {
+            long geracao = cacheIata.geracaoAtual();
+            Aeroporto aeroporto = aeroportoRepository.findByCodigoIata(iataUpper)
+                    .orElseThrow(() -> new AeroportoNaoEncontradoException(codigoIata));
+            cacheIata.armazenar(aeroporto, geracao);
+            return aeroporto;
+        });
+    }
+
+    // Buscar vários códigos IATA de uma vez: o que está no cache (ou no snapshot) sai da memória e
+    // o resto vem de uma única consulta (IN). Códigos sem aeroporto voltam em naoEncontrados, sem erro
+    public ResultadoBuscaMultipla buscarVariosPorIata(List<String> codigosIata) {
+        if (codigosIata == null || codigosIata.isEmpty() || codigosIata.size() > LIMITE_MAXIMO_BUSCA_MULTIPLA) {
+            throw new IllegalArgumentException(
+                    "Informe entre 1 e " + LIMITE_MAXIMO_BUSCA_MULTIPLA + " códigos IATA.");
+        }
+        Set<String> codigos = new LinkedHashSet<>();
+        for (String codigo : codigosIata) {
+            if (codigo == null) {
+                throw new IllegalArgumentException("Códigos IATA não podem ser nulos.");
+            }
+            codigos.add(codigo.trim().toUpperCase());
+        }
+
+        Map<String, Aeroporto> porCodigo = new HashMap<>();
+        List<String> faltando = new ArrayList<>();
+        for (String codigo : codigos) {
+            Aeroporto aeroporto = snapshotAeroportos != null
+                    ? snapshotAeroportos.buscar(codigo)
+                    : cacheIata.buscar(codigo);
+            if (aeroporto != null) {
+                porCodigo.put(codigo, aeroporto);
+            } else if (snapshotAeroportos == null && CacheIata.indice(codigo) >= 0) {
+                // Código fora do formato não vai ao banco: não tem como existir
+                faltando.add(codigo);
+            }
+        }
+        if (!faltando.isEmpty()) {
+            long geracao = cacheIata.geracaoAtual();
+            for (Aeroporto aeroporto : aeroportoRepository.findByCodigoIataIn(faltando)) {
+                cacheIata.armazenar(aeroporto, geracao);
+                porCodigo.put(aeroporto.getCodigoIata(), aeroporto);
+            }
+        }
+
+        List<Aeroporto> encontrados = new ArrayList<>(porCodigo.size());
+        List<String> naoEncontrados = new ArrayList<>();
+        for (String codigo : codigos) {
+            Aeroporto aeroporto = porCodigo.get(codigo);
+            if (aeroporto != null) {
+                encontrados.add(aeroporto);
+            } else {
+                naoEncontrados.add(codigo);
+            }
+        }
+        return new ResultadoBuscaMultipla(encontrados, naoEncontrados);
+    }
+
+    // ETag de um aeroporto já carregado
+    public static String etag(Aeroporto aeroporto) {
+        return new VersaoAeroporto(aeroporto.getId(), aeroporto.getVersao()).etag();
+    }
+
+    // ETag sem carregar a linha: vem do cache ou de uma consulta só de id e versão
+    public String etagPorIata(String codigoIata) {
+        String iataUpper = codigoIata.toUpperCase();
+        if (snapshotAeroportos != null) {
+            return etag(buscarPorIata(iataUpper));
+        }
+        Aeroporto emCache = cacheIata.buscar(iataUpper);
+        if (emCache != null) {
+            return etag(emCache);
+        }
+        return aeroportoRepository.findVersaoByCodigoIata(iataUpper)
+                .map(VersaoAeroporto::etag)
                 .orElseThrow(() -> new AeroportoNaoEncontradoException(codigoIata));
     }
 
+    // ETag da coleção inteira (GET /api/v1/aeroportos), a partir de uma consulta agregada
+    public String etagColecao() {
+        return aeroportoRepository.resumirVersoes().etag();
+    }
+
+    // ETag da listagem resumida (representação diferente dos mesmos dados)
+    public String etagColecaoResumida() {
+        return aeroportoRepository.resumirVersoes().etag("resumo");
+    }
+
     // Criar novo aeroporto
     @Transactional
     public Aeroporto criar(Aeroporto aeroporto) {
@@ -37,38 +318,128 @@ public class AeroportoService {
         // Converte código país para maiúsculas
         aeroporto.setCodigoPaisIso(aeroporto.getCodigoPaisIso().toUpperCase());
         
-        // IMPORTANTE: Converte altitude de PÉS para METROS
-        // O usuário envia em metros, mas se viesse do CSV estaria em pés
-        // Para ser consistente, mantemos em metros
-        // Se no futuro quisermos importar CSV, converteremos aqui
-        // aeroporto.setAltitude(converterPesParaMetros(aeroporto.getAltitude()));
+        // IMPORTANTE: a altitude já chega em METROS pela API.
+        // O CSV (em pés) é convertido pelo ImportadorCsvAeroportos
         
         // Valida se já existe
         if (aeroportoRepository.existsByCodigoIata(iataUpper)) {
             throw new IllegalArgumentException("Aeroporto com código IATA '" + iataUpper + "' já existe.");
         }
         
-        return aeroportoRepository.save(aeroporto);
+        invalidarCache(iataUpper);
+        aeroporto.setRevisao(revisaoRepository.proximaRevisao());
+        revisaoRepository.descartarRemocoes(List.of(iataUpper));
+        Aeroporto aeroportoCriado = aeroportoRepository.save(aeroporto);
+        eventPublisher.publishEvent(AeroportoAlteradoEvent.criado(aeroportoCriado));
+        return aeroportoCriado;
     }
 
     // Atualizar aeroporto
     @Transactional
     public Aeroporto atualizar(String codigoIata, Aeroporto aeroportoAtualizado) {
-        // Busca aeroporto existente (já lança exceção se não existir)
-        Aeroporto aeroportoExistente = buscarPorIata(codigoIata);
+        return atualizar(codigoIata, aeroportoAtualizado, null);
+    }
+
+    // Atualizar aeroporto só se o ETag ainda for etagEsperado (If-Match); null ou "*" não conferem
+    @Transactional
+    public Aeroporto atualizar(String codigoIata, Aeroporto aeroportoAtualizado, String etagEsperado) {
+        // Busca aeroporto existente direto no banco: a instância do cache é compartilhada
+        // e não pode ser alterada
+        String iataUpper = codigoIata.toUpperCase();
+        Aeroporto aeroportoExistente = aeroportoRepository.findByCodigoIata(iataUpper)
+                .orElseThrow(() -> new AeroportoNaoEncontradoException(codigoIata));
+
+        String etagAtual = etag(aeroportoExistente);
+        if (etagEsperado != null && !etagEsperado.equals("*") && !etagEsperado.equals(etagAtual)) {
+            throw new VersaoDesatualizadaException(iataUpper, etagAtual);
+        }
         
-        // Atualiza campos (NÃO atualiza o código IATA!)
-        aeroportoExistente.setNome(aeroportoAtualizado.getNome());
-        aeroportoExistente.setCidade(aeroportoAtualizado.getCidade());
-        aeroportoExistente.setCodigoPaisIso(aeroportoAtualizado.getCodigoPaisIso().toUpperCase());
-        aeroportoExistente.setLatitude(aeroportoAtualizado.getLatitude());
-        aeroportoExistente.setLongitude(aeroportoAtualizado.getLongitude());
-        aeroportoExistente.setAltitude(aeroportoAtualizado.getAltitude());
+        copiarCampos(aeroportoAtualizado, aeroportoExistente);
         
-        return aeroportoRepository.save(aeroportoExistente);
+        invalidarCache(iataUpper);
+        aeroportoExistente.setRevisao(revisaoRepository.proximaRevisao());
+        Aeroporto aeroportoSalvo = aeroportoRepository.save(aeroportoExistente);
+        // O flush incrementa a versão agora (o ETag da resposta já sai com ela) e faz
+        // um UPDATE concorrente falhar aqui com OptimisticLockingFailureException
+        entityManager.flush();
+        eventPublisher.publishEvent(AeroportoAlteradoEvent.atualizado(aeroportoSalvo));
+        return aeroportoSalvo;
+    }
+
+    // Criar (ou atualizar, no modo UPSERT) vários aeroportos numa única transação.
+    // Os existentes são descobertos com um único SELECT ... IN e os novos vão em lote JDBC
+    @Transactional
+    public ResultadoLote criarEmLote(List<Aeroporto> aeroportos, ModoLote modo) {
+        if (aeroportos == null || aeroportos.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve ter pelo menos um aeroporto.");
+        }
+        if (aeroportos.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("O lote deve ter no máximo " + LIMITE_MAXIMO_LOTE + " aeroportos.");
+        }
+
+        Set<String> codigos = new HashSet<>();
+        for (int i = 0; i < aeroportos.size(); i++) {
+            Aeroporto aeroporto = aeroportos.get(i);
+            if (aeroporto.getCodigoIata() != null) {
+                aeroporto.setCodigoIata(aeroporto.getCodigoIata().toUpperCase());
+            }
+            if (aeroporto.getCodigoPaisIso() != null) {
+                aeroporto.setCodigoPaisIso(aeroporto.getCodigoPaisIso().toUpperCase());
+            }
+            Set<ConstraintViolation<Aeroporto>> violacoes = validator.validate(aeroporto);
+            if (!violacoes.isEmpty()) {
+                throw new IllegalArgumentException("Aeroporto na posição " + i + " inválido: "
+                        + violacoes.iterator().next().getMessage());
+            }
+            if (!codigos.add(aeroporto.getCodigoIata())) {
+                throw new IllegalArgumentException(
+                        "Código IATA '" + aeroporto.getCodigoIata() + "' repetido no lote.");
+            }
+        }
+
+        Map<String, Aeroporto> existentes = aeroportoRepository.findByCodigoIataIn(codigos).stream()
+                .collect(Collectors.toMap(Aeroporto::getCodigoIata, Function.identity()));
+        if (modo == ModoLote.FALHAR && !existentes.isEmpty()) {
+            throw new IllegalArgumentException("Aeroportos com código IATA já existentes: "
+                    + existentes.keySet().stream().sorted().collect(Collectors.joining(", ")) + ".");
+        }
+
+        // O lote inteiro vai numa única revisão
+        long revisao = revisaoRepository.proximaRevisao();
+        List<Aeroporto> novos = new ArrayList<>();
+        List<Aeroporto> atualizados = new ArrayList<>();
+        for (Aeroporto aeroporto : aeroportos) {
+            Aeroporto existente = existentes.get(aeroporto.getCodigoIata());
+            if (existente == null) {
+                aeroporto.setRevisao(revisao);
+                novos.add(aeroporto);
+            } else {
+                // Entidade gerenciada: o UPDATE sai no flush, agrupado pelo hibernate.jdbc.batch_size
+                copiarCampos(aeroporto, existente);
+                existente.setRevisao(revisao);
+                atualizados.add(existente);
+            }
+            invalidarCache(aeroporto.getCodigoIata());
+        }
+        if (!atualizados.isEmpty()) {
+            // Como em atualizar(): o flush incrementa as versões antes de os eventos serem montados,
+            // senão o snapshot e o SSE recebiam a versão antiga (e o ETag não mudava)
+            entityManager.flush();
+            atualizados.forEach(existente -> eventPublisher.publishEvent(AeroportoAlteradoEvent.atualizado(existente)));
+        }
+        if (!novos.isEmpty()) {
+            revisaoRepository.descartarRemocoes(novos.stream().map(Aeroporto::getCodigoIata).toList());
+            aeroportoLoteRepository.inserirTodos(novos);
+            novos.forEach(novo -> eventPublisher.publishEvent(AeroportoAlteradoEvent.criado(novo)));
+        }
+
+        List<String> criados = novos.stream().map(Aeroporto::getCodigoIata).toList();
+        return new ResultadoLote(criados, atualizados.stream().map(Aeroporto::getCodigoIata).toList());
     }
 
-    // Deletar aeroporto
+    // Deletar aeroporto. A linha sai da tabela e fica uma lápide em aeroporto_removido, para
+    // a sincronização incremental avisar os clientes (o índice único de IATA e as demais
+    // consultas não precisam filtrar removidos)
     @Transactional
     public void deletar(String codigoIata) {
         String iataUpper = codigoIata.toUpperCase();
@@ -79,7 +450,37 @@ public class AeroportoService {
         }
         
         // Deleta por IATA
+        invalidarCache(iataUpper);
         aeroportoRepository.deleteByCodigoIata(iataUpper);
+        long revisao = revisaoRepository.proximaRevisao();
+        revisaoRepository.registrarRemocao(iataUpper, revisao);
+        eventPublisher.publishEvent(AeroportoAlteradoEvent.removido(iataUpper, revisao));
+    }
+
+    // Atualiza os campos editáveis (NÃO atualiza o código IATA!)
+    private static void copiarCampos(Aeroporto origem, Aeroporto destino) {
+        destino.setNome(origem.getNome());
+        destino.setCidade(origem.getCidade());
+        destino.setCodigoPaisIso(origem.getCodigoPaisIso().toUpperCase());
+        destino.setLatitude(origem.getLatitude());
+        destino.setLongitude(origem.getLongitude());
+        destino.setAltitude(origem.getAltitude());
+    }
+
+    // Remove o código do cache agora e de novo ao fim da transação (commit ou rollback),
+    // para descartar qualquer leitura feita enquanto a escrita estava pendente
+    private void invalidarCache(String codigoIata) {
+        cacheIata.invalidar(codigoIata);
+        cargasIata.descartar(codigoIata);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cacheIata.invalidar(codigoIata);
+                    cargasIata.descartar(codigoIata);
+                }
+            });
+        }
     }
 
     // ========== MÉTODOS PARA TESTES (exigidos no trabalho) ==========
@@ -0,0 +1,80 @@
+package com.projeto.aeroportos.service;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.MatrizDistanciasResposta;
+import com.projeto.aeroportos.dto.PedidoMatrizDistancias;
+import com.projeto.aeroportos.geo.MatrizDistancias;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class DistanciaService {
+
+    public static final int MAXIMO_CODIGOS_POR_LADO = 1000;
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    // Matriz de distâncias e rumos entre todas as origens e todos os destinos.
+    // As coordenadas de todos os códigos vêm de uma única consulta
+    public MatrizDistanciasResposta calcularMatriz(PedidoMatrizDistancias pedido) {
+        List<String> origens = normalizar(pedido.origens(), "origens");
+        List<String> destinos = normalizar(pedido.destinos(), "destinos");
+
+        Set<String> codigos = new HashSet<>(origens);
+        codigos.addAll(destinos);
+        Map<String, Aeroporto> porCodigo = new HashMap<>();
+        aeroportoRepository.findByCodigoIataIn(codigos).forEach(a -> porCodigo.put(a.getCodigoIata(), a));
+        if (porCodigo.size() < codigos.size()) {
+            Set<String> naoEncontrados = new TreeSet<>(codigos);
+            naoEncontrados.removeAll(porCodigo.keySet());
+            throw new IllegalArgumentException("Códigos IATA não encontrados: " + String.join(", ", naoEncontrados) + ".");
+        }
+
+        double[] latOrigem = new double[origens.size()];
+        double[] lonOrigem = new double[origens.size()];
+        coordenadas(origens, porCodigo, latOrigem, lonOrigem);
+        double[] latDestino = new double[destinos.size()];
+        double[] lonDestino = new double[destinos.size()];
+        coordenadas(destinos, porCodigo, latDestino, lonDestino);
+
+        double[][] distancias = new double[origens.size()][destinos.size()];
+        double[][] rumos = new double[origens.size()][destinos.size()];
+        new MatrizDistancias(latOrigem, lonOrigem, latDestino, lonDestino).calcular(distancias, rumos);
+
+        return new MatrizDistanciasResposta(origens, destinos, distancias, rumos);
+    }
+
+    private static List<String> normalizar(List<String> codigos, String campo) {
+        if (codigos == null || codigos.isEmpty() || codigos.size() > MAXIMO_CODIGOS_POR_LADO) {
+            throw new IllegalArgumentException(
+                    "O campo '" + campo + "' deve ter entre 1 e " + MAXIMO_CODIGOS_POR_LADO + " códigos IATA.");
+        }
+        List<String> normalizados = new ArrayList<>(codigos.size());
+        for (String codigo : codigos) {
+            if (codigo == null) {
+                throw new IllegalArgumentException("Códigos IATA não podem ser nulos.");
+            }
+            normalizados.add(codigo.trim().toUpperCase());
+        }
+        return normalizados;
+    }
+
+    private static void coordenadas(List<String> codigos, Map<String, Aeroporto> porCodigo,
+                                    double[] latitudes, double[] longitudes) {
+        for (int i = 0; i < codigos.size(); i++) {
+            Aeroporto aeroporto = porCodigo.get(codigos.get(i));
+            latitudes[i] = aeroporto.getLatitude();
+            longitudes[i] = aeroporto.getLongitude();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.projeto.aeroportos.service;
+
+// Como o cadastro em lote trata códigos IATA que já existem no banco
+public enum ModoLote {
+    // Rejeita o lote inteiro se algum código já existir
+    FALHAR,
+    // Atualiza os existentes e cria os demais
+    UPSERT
+}
@@ -0,0 +1,486 @@
+package com.projeto.aeroportos.snapshot;
+
+import com.projeto.aeroportos.cache.CacheIata;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import com.projeto.aeroportos.evento.AeroportosImportadosEvent;
+import com.projeto.aeroportos.repository.AeroportoRepository;
+import com.projeto.aeroportos.repository.RevisaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Snapshot binário dos aeroportos num arquivo mapeado em memória (aeroportos.snapshot.habilitado=true).
+// Layout de largura fixa: cabeçalho, um registro de 64 bytes para cada código IATA possível
+// (na ordem de CacheIata.indice, ou seja, ordem alfabética) e a área de textos (nome + cidade, UTF-8).
+// A busca por IATA é um acesso direto ao registro; a varredura por coordenadas percorre os
+// registros em ordem de latitude. Os dados ficam fora do heap: cada leitura monta um Aeroporto
+// de vida curta. Na subida, o arquivo é reaproveitado se a revisão gravada for a atual do banco;
+// senão é refeito a partir do banco. As escritas commitadas sobrescrevem o registro e acrescentam
+// os textos ao fim da área; quando ela enche, o arquivo é reescrito sem os textos antigos.
+@Component
+@ConditionalOnProperty(prefix = "aeroportos.snapshot", name = "habilitado")
+public class SnapshotAeroportos {
+
+    static final int MAGICO = 0x4145524F; // "AERO"
+    static final int FORMATO = 1;
+
+    // Cabeçalho
+    private static final int CAB_MAGICO = 0;
+    private static final int CAB_FORMATO = 4;
+    private static final int CAB_REVISAO = 8;
+    private static final int CAB_QUANTIDADE = 16;
+    private static final int CAB_FIM_TEXTOS = 20;
+    private static final int CAB_CAPACIDADE_TEXTOS = 24;
+    static final int TAMANHO_CABECALHO = 64;
+
+    // Registro. revisao continua gravada depois da remoção: um evento mais antigo que chegue
+    // atrasado (de outra transação) não ressuscita o aeroporto
+    private static final int REG_OCUPADO = 0;
+    private static final int REG_PAIS = 1;
+    private static final int REG_TEXTO = 4;
+    private static final int REG_ID = 8;
+    private static final int REG_VERSAO = 16;
+    private static final int REG_REVISAO = 24;
+    private static final int REG_LATITUDE = 32;
+    private static final int REG_LONGITUDE = 40;
+    private static final int REG_ALTITUDE = 48;
+    private static final int REG_TAMANHO_NOME = 56;
+    private static final int REG_TAMANHO_CIDADE = 58;
+    static final int TAMANHO_REGISTRO = 64;
+
+    static final int INICIO_TEXTOS = TAMANHO_CABECALHO + CacheIata.TOTAL_POSICOES * TAMANHO_REGISTRO;
+    static final int CAPACIDADE_TEXTOS_MINIMA = 256 * 1024;
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private RevisaoRepository revisaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Path arquivo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer buffer;
+    // Índices dos registros ocupados em ordem de latitude (só ints; os dados ficam no arquivo)
+    private final int[] porLatitude = new int[CacheIata.TOTAL_POSICOES];
+    private int quantidade;
+    private volatile boolean carregado = false;
+
+    public SnapshotAeroportos(@Value("${aeroportos.snapshot.arquivo:aeroportos.snap}") String arquivo) {
+        this.arquivo = Path.of(arquivo);
+    }
+
+    // Mapeia (ou monta) o arquivo na subida, antes da primeira requisição
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        garantirCarregado();
+    }
+
+    // Aeroporto com o código informado ou null
+    public Aeroporto buscar(String codigoIata) {
+        int indice = CacheIata.indice(codigoIata);
+        if (indice < 0) {
+            return null;
+        }
+        garantirCarregado();
+        lock.readLock().lock();
+        try {
+            return ocupado(indice) ? ler(indice) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Aeroportos dentro da caixa (limites inclusivos), opcionalmente de um país, ordenados por IATA
+    public List<Aeroporto> filtrarPorCaixa(String codigoPaisIso, double latitudeMinima, double latitudeMaxima,
+                                           double longitudeMinima, double longitudeMaxima) {
+        garantirCarregado();
+        lock.readLock().lock();
+        try {
+            int[] encontrados = new int[quantidade];
+            int total = 0;
+            for (int i = primeiroComLatitude(latitudeMinima); i < quantidade; i++) {
+                int base = posicao(porLatitude[i]);
+                if (buffer.getDouble(base + REG_LATITUDE) > latitudeMaxima) {
+                    break;
+                }
+                double longitude = buffer.getDouble(base + REG_LONGITUDE);
+                if (longitude < longitudeMinima || longitude > longitudeMaxima) {
+                    continue;
+                }
+                if (codigoPaisIso != null && (buffer.get(base + REG_PAIS) != codigoPaisIso.charAt(0)
+                        || buffer.get(base + REG_PAIS + 1) != codigoPaisIso.charAt(1))) {
+                    continue;
+                }
+                encontrados[total++] = porLatitude[i];
+            }
+            // A ordem dos índices é a ordem alfabética do código IATA
+            Arrays.sort(encontrados, 0, total);
+            List<Aeroporto> aeroportos = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                aeroportos.add(ler(encontrados[i]));
+            }
+            return aeroportos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getRevisao() {
+        garantirCarregado();
+        lock.readLock().lock();
+        try {
+            return buffer.getLong(CAB_REVISAO);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getQuantidade() {
+        garantirCarregado();
+        lock.readLock().lock();
+        try {
+            return quantidade;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mapeia o arquivo existente se ele estiver na revisão esperada; false se não existir,
+    // for de outro formato ou estiver desatualizado
+    public boolean abrir(long revisaoEsperada) {
+        if (!Files.isRegularFile(arquivo)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < INICIO_TEXTOS) {
+                return false;
+            }
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+            if (mapeado.getInt(CAB_MAGICO) != MAGICO || mapeado.getInt(CAB_FORMATO) != FORMATO
+                    || mapeado.getLong(CAB_REVISAO) != revisaoEsperada
+                    || canal.size() != (long) INICIO_TEXTOS + mapeado.getInt(CAB_CAPACIDADE_TEXTOS)) {
+                return false;
+            }
+            usar(mapeado);
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reescreve o arquivo inteiro com os aeroportos informados
+    public void carregar(Collection<Aeroporto> aeroportos, long revisao) {
+        lock.writeLock().lock();
+        try {
+            escrever(aeroportos, revisao, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(AeroportoAlteradoEvent evento) {
+        int indice = CacheIata.indice(evento.codigoIata());
+        if (indice < 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Antes da primeira carga não há o que manter: a carga lerá o estado já commitado
+            if (!carregado) {
+                return;
+            }
+            int base = posicao(indice);
+            // Eventos de transações diferentes podem chegar fora de ordem: vale o de maior revisão
+            if (buffer.getLong(base + REG_REVISAO) > evento.revisao()) {
+                return;
+            }
+            if (evento.aeroporto() == null) {
+                remover(indice);
+                buffer.putLong(base + REG_REVISAO, evento.revisao());
+            } else if (cabeNaAreaDeTextos(evento.aeroporto())) {
+                remover(indice);
+                int fimTextos = gravarRegistro(buffer, indice, evento.aeroporto(), buffer.getInt(CAB_FIM_TEXTOS));
+                buffer.putInt(CAB_FIM_TEXTOS, fimTextos);
+                inserirNaLatitude(indice);
+                buffer.putInt(CAB_QUANTIDADE, quantidade);
+            } else {
+                compactar(indice, evento.aeroporto());
+            }
+            buffer.putLong(CAB_REVISAO, Math.max(buffer.getLong(CAB_REVISAO), evento.revisao()));
+        } catch (IOException | RuntimeException e) {
+            // O evento chega depois do commit: em vez de falhar a requisição, descarta o
+            // snapshot, que é refeito a partir do banco na próxima leitura
+            carregado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Uma importação reescreve o arquivo a partir do banco, uma vez
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportar(AeroportosImportadosEvent evento) {
+        lock.writeLock().lock();
+        try {
+            if (carregado) {
+                carregarDoBanco();
+            }
+        } catch (RuntimeException e) {
+            // Como em aoAlterar: refeito na próxima leitura
+            carregado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!carregado) {
+                carregarDoBanco();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Com o lock de escrita. Transação própria: o snapshot só deve ver dados já commitados. O
+    // contador é lido antes das linhas (ver RevisaoRepository)
+    private void carregarDoBanco() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setReadOnly(true);
+        transacao.executeWithoutResult(status -> {
+            long revisao = revisaoRepository.revisaoAtual();
+            if (!abrir(revisao)) {
+                carregar(aeroportoRepository.findAll(), revisao);
+            }
+        });
+    }
+
+    // Chamados com o lock de escrita
+
+    // Grava num arquivo temporário e troca pelo atual (o mapeamento sobrevive ao rename).
+    // Com "anterior", copia antes os registros dele, para manter a revisão dos removidos
+    private void escrever(Collection<Aeroporto> aeroportos, long revisao, ByteBuffer anterior) throws IOException {
+        int tamanhoTextos = 0;
+        for (Aeroporto aeroporto : aeroportos) {
+            tamanhoTextos += tamanhoTextos(aeroporto);
+        }
+        int capacidade = Math.max(CAPACIDADE_TEXTOS_MINIMA, tamanhoTextos * 2);
+        if (arquivo.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        MappedByteBuffer novo;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            novo = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) INICIO_TEXTOS + capacidade);
+        }
+        if (anterior != null) {
+            novo.put(TAMANHO_CABECALHO, anterior, TAMANHO_CABECALHO, INICIO_TEXTOS - TAMANHO_CABECALHO);
+            for (int indice = 0; indice < CacheIata.TOTAL_POSICOES; indice++) {
+                novo.put(posicao(indice) + REG_OCUPADO, (byte) 0);
+            }
+        }
+        int fimTextos = 0;
+        int ocupados = 0;
+        for (Aeroporto aeroporto : aeroportos) {
+            int indice = CacheIata.indice(aeroporto.getCodigoIata());
+            if (indice >= 0) {
+                fimTextos = gravarRegistro(novo, indice, aeroporto, fimTextos);
+                ocupados++;
+            }
+        }
+        novo.putInt(CAB_MAGICO, MAGICO);
+        novo.putInt(CAB_FORMATO, FORMATO);
+        novo.putLong(CAB_REVISAO, revisao);
+        novo.putInt(CAB_QUANTIDADE, ocupados);
+        novo.putInt(CAB_FIM_TEXTOS, fimTextos);
+        novo.putInt(CAB_CAPACIDADE_TEXTOS, capacidade);
+        novo.force();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        usar(novo);
+    }
+
+    // Reescreve o arquivo com os aeroportos atuais, trocando o do índice informado
+    private void compactar(int indiceAlterado, Aeroporto alterado) throws IOException {
+        List<Aeroporto> aeroportos = new ArrayList<>(quantidade + 1);
+        for (int i = 0; i < quantidade; i++) {
+            if (porLatitude[i] != indiceAlterado) {
+                aeroportos.add(ler(porLatitude[i]));
+            }
+        }
+        aeroportos.add(alterado);
+        escrever(aeroportos, buffer.getLong(CAB_REVISAO), buffer);
+    }
+
+    private void usar(MappedByteBuffer mapeado) {
+        buffer = mapeado;
+        quantidade = 0;
+        for (int indice = 0; indice < CacheIata.TOTAL_POSICOES; indice++) {
+            if (ocupado(indice)) {
+                porLatitude[quantidade++] = indice;
+            }
+        }
+        Integer[] ordenados = new Integer[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ordenados[i] = porLatitude[i];
+        }
+        Arrays.sort(ordenados, (a, b) -> Double.compare(latitude(a), latitude(b)));
+        for (int i = 0; i < quantidade; i++) {
+            porLatitude[i] = ordenados[i];
+        }
+        carregado = true;
+    }
+
+    private boolean cabeNaAreaDeTextos(Aeroporto aeroporto) {
+        return (long) buffer.getInt(CAB_FIM_TEXTOS) + tamanhoTextos(aeroporto) <= buffer.getInt(CAB_CAPACIDADE_TEXTOS);
+    }
+
+    private void remover(int indice) {
+        if (!ocupado(indice)) {
+            return;
+        }
+        buffer.put(posicao(indice) + REG_OCUPADO, (byte) 0);
+        for (int i = 0; i < quantidade; i++) {
+            if (porLatitude[i] == indice) {
+                System.arraycopy(porLatitude, i + 1, porLatitude, i, quantidade - i - 1);
+                quantidade--;
+                break;
+            }
+        }
+        buffer.putInt(CAB_QUANTIDADE, quantidade);
+    }
+
+    private void inserirNaLatitude(int indice) {
+        int posicao = primeiroComLatitude(latitude(indice));
+        System.arraycopy(porLatitude, posicao, porLatitude, posicao + 1, quantidade - posicao);
+        porLatitude[posicao] = indice;
+        quantidade++;
+    }
+
+    // Grava os campos do registro e os textos a partir de fimTextos; devolve o novo fim
+    private static int gravarRegistro(ByteBuffer destino, int indice, Aeroporto aeroporto, int fimTextos) {
+        byte[] nome = aeroporto.getNome().getBytes(StandardCharsets.UTF_8);
+        byte[] cidade = aeroporto.getCidade().getBytes(StandardCharsets.UTF_8);
+        destino.put(INICIO_TEXTOS + fimTextos, nome);
+        destino.put(INICIO_TEXTOS + fimTextos + nome.length, cidade);
+
+        int base = posicao(indice);
+        destino.put(base + REG_PAIS, (byte) aeroporto.getCodigoPaisIso().charAt(0));
+        destino.put(base + REG_PAIS + 1, (byte) aeroporto.getCodigoPaisIso().charAt(1));
+        destino.putInt(base + REG_TEXTO, fimTextos);
+        destino.putLong(base + REG_ID, aeroporto.getId() == null ? 0 : aeroporto.getId());
+        destino.putLong(base + REG_VERSAO, aeroporto.getVersao() == null ? 0 : aeroporto.getVersao());
+        destino.putLong(base + REG_REVISAO, aeroporto.getRevisao() == null ? 0 : aeroporto.getRevisao());
+        destino.putDouble(base + REG_LATITUDE, aeroporto.getLatitude());
+        destino.putDouble(base + REG_LONGITUDE, aeroporto.getLongitude());
+        destino.putDouble(base + REG_ALTITUDE, aeroporto.getAltitude());
+        destino.putShort(base + REG_TAMANHO_NOME, (short) nome.length);
+        destino.putShort(base + REG_TAMANHO_CIDADE, (short) cidade.length);
+        destino.put(base + REG_OCUPADO, (byte) 1);
+        return fimTextos + nome.length + cidade.length;
+    }
+
+    // Chamados com o lock de leitura (ou de escrita)
+
+    private Aeroporto ler(int indice) {
+        int base = posicao(indice);
+        int texto = INICIO_TEXTOS + buffer.getInt(base + REG_TEXTO);
+        byte[] nome = new byte[buffer.getShort(base + REG_TAMANHO_NOME)];
+        byte[] cidade = new byte[buffer.getShort(base + REG_TAMANHO_CIDADE)];
+        buffer.get(texto, nome);
+        buffer.get(texto + nome.length, cidade);
+        char[] pais = {(char) buffer.get(base + REG_PAIS), (char) buffer.get(base + REG_PAIS + 1)};
+
+        Aeroporto aeroporto = new Aeroporto(
+                new String(nome, StandardCharsets.UTF_8), codigoIata(indice),
+                new String(cidade, StandardCharsets.UTF_8), new String(pais),
+                buffer.getDouble(base + REG_LATITUDE), buffer.getDouble(base + REG_LONGITUDE),
+                buffer.getDouble(base + REG_ALTITUDE));
+        aeroporto.setId(buffer.getLong(base + REG_ID));
+        aeroporto.setVersao(buffer.getLong(base + REG_VERSAO));
+        aeroporto.setRevisao(buffer.getLong(base + REG_REVISAO));
+        return aeroporto;
+    }
+
+    private boolean ocupado(int indice) {
+        return buffer.get(posicao(indice) + REG_OCUPADO) == 1;
+    }
+
+    private double latitude(int indice) {
+        return buffer.getDouble(posicao(indice) + REG_LATITUDE);
+    }
+
+    // Primeira posição de porLatitude com latitude >= a informada (busca binária)
+    private int primeiroComLatitude(double latitude) {
+        int inicio = 0;
+        int fim = quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (latitude(porLatitude[meio]) < latitude) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private static int posicao(int indice) {
+        return TAMANHO_CABECALHO + indice * TAMANHO_REGISTRO;
+    }
+
+    private static int tamanhoTextos(Aeroporto aeroporto) {
+        return aeroporto.getNome().getBytes(StandardCharsets.UTF_8).length
+                + aeroporto.getCidade().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // Inverso de CacheIata.indice
+    private static String codigoIata(int indice) {
+        char[] letras = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letras[i] = (char) ('A' + indice % 26);
+            indice /= 26;
+        }
+        return new String(letras);
+    }
+}
@@ -0,0 +1,33 @@
+package com.projeto.aeroportos.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+// Perfil virtual-threads: cada requisição do Tomcat (e as chamadas @Transactional do
+// AeroportoService, que rodam na thread da requisição) ganha uma thread virtual,
+// em vez de disputar o pool fixo de 200 threads de plataforma.
+// A concorrência real no banco fica limitada pelo pool do Hikari
+// (ver application-virtual-threads.properties). Sem esta classe no build o perfil não sobe
+// (VerificacaoThreadsVirtuais).
+@Configuration
+@Profile("virtual-threads")
+public class ThreadsVirtuaisConfig {
+
+    @Bean(name = VerificacaoThreadsVirtuais.EXECUTOR_TOMCAT_VIRTUAL)
+    public TomcatProtocolHandlerCustomizer<?> executorTomcatVirtual() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Usado pelo Spring MVC em respostas assíncronas (StreamingResponseBody, SSE)
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
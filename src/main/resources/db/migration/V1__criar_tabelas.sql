@@ -0,0 +1,30 @@
+-- Schema do perfil prod (banco em arquivo). Mesmo conteúdo do schema.sql, que continua
+-- sendo usado pelo banco em memória dos perfis padrão e test
+CREATE TABLE aeroporto (
+    id_aeroporto INT AUTO_INCREMENT PRIMARY KEY,
+    nome_aeroporto VARCHAR(255) NOT NULL,
+    codigo_iata VARCHAR(3) UNIQUE NOT NULL,
+    cidade VARCHAR(255) NOT NULL,
+    codigo_pais_iso VARCHAR(2) NOT NULL,
+    latitude DECIMAL(10, 6) NOT NULL,
+    longitude DECIMAL(10, 6) NOT NULL,
+    altitude DECIMAL(10, 2) NOT NULL,
+    versao BIGINT DEFAULT 0 NOT NULL,
+    revisao BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX idx_aeroporto_pais_cidade ON aeroporto (codigo_pais_iso, cidade);
+CREATE INDEX idx_aeroporto_lat_lon ON aeroporto (latitude, longitude);
+CREATE INDEX idx_aeroporto_revisao ON aeroporto (revisao);
+
+CREATE TABLE revisao_aeroportos (
+    id INT PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+INSERT INTO revisao_aeroportos (id, valor) VALUES (1, 0);
+
+CREATE TABLE aeroporto_removido (
+    codigo_iata VARCHAR(3) PRIMARY KEY,
+    revisao BIGINT NOT NULL
+);
+CREATE INDEX idx_aeroporto_removido_revisao ON aeroporto_removido (revisao);
@@ -6,5 +6,30 @@ CREATE TABLE aeroporto (
     codigo_pais_iso VARCHAR(2) NOT NULL,
     latitude DECIMAL(10, 6) NOT NULL,
     longitude DECIMAL(10, 6) NOT NULL,
-    altitude DECIMAL(10, 2) NOT NULL
-);
\ No newline at end of file
+    altitude DECIMAL(10, 2) NOT NULL,
+    versao BIGINT DEFAULT 0 NOT NULL,
+    revisao BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Filtros da listagem (AeroportoRepository). O índice de país + cidade também atende
+-- o filtro só por país, pela coluna inicial; a caixa de coordenadas usa a faixa de
+-- latitude e confere a longitude no próprio índice
+CREATE INDEX idx_aeroporto_pais_cidade ON aeroporto (codigo_pais_iso, cidade);
+CREATE INDEX idx_aeroporto_lat_lon ON aeroporto (latitude, longitude);
+
+-- Sincronização incremental (GET /api/v1/aeroportos/changes?since=): cada escrita recebe
+-- a próxima revisão do contador; as linhas do data.sql ficam na revisão 0
+CREATE INDEX idx_aeroporto_revisao ON aeroporto (revisao);
+
+CREATE TABLE revisao_aeroportos (
+    id INT PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+INSERT INTO revisao_aeroportos (id, valor) VALUES (1, 0);
+
+-- Lápides dos aeroportos removidos (uma por código IATA, com a revisão da remoção)
+CREATE TABLE aeroporto_removido (
+    codigo_iata VARCHAR(3) PRIMARY KEY,
+    revisao BIGINT NOT NULL
+);
+CREATE INDEX idx_aeroporto_removido_revisao ON aeroporto_removido (revisao);
@@ -0,0 +1,68 @@
+package com.projeto.aeroportos;
+
+import com.projeto.aeroportos.importacao.CargaInicialAeroportos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sobe a aplicação duas vezes no perfil prod sobre o mesmo banco em arquivo: a primeira cria o
+// schema (Flyway) e popula; a segunda reaproveita o banco sem repopular. O tempo de subida é
+// medido pelo TempoInicio (src/jmh). Perfil e URL vão como argumentos de linha de comando, que
+// têm precedência sobre o spring.profiles.active=test que o failsafe passa como propriedade de sistema
+public class PerfilProdIT {
+
+    private static final int AEROPORTOS_DATA_SQL = 9;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void testSubida_DeveCriarEPopularUmaVezEReaproveitarOBancoNoReinicio() {
+        String url = "jdbc:h2:file:" + diretorio.resolve("aeroportos").toAbsolutePath();
+
+        // Act - primeira subida (banco novo)
+        try (ConfigurableApplicationContext contexto = subir(url)) {
+            JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+            // Assert
+            assertEquals(AEROPORTOS_DATA_SQL, contar(jdbcTemplate));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\"", Integer.class));
+            // Alterações que precisam sobreviver ao reinício
+            jdbcTemplate.update("DELETE FROM aeroporto WHERE codigo_iata = 'CDG'");
+            jdbcTemplate.update("UPDATE aeroporto SET nome_aeroporto = 'Guarulhos' WHERE codigo_iata = 'GRU'");
+        }
+
+        // Act - reinício sobre o mesmo arquivo
+        try (ConfigurableApplicationContext contexto = subir(url)) {
+            JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+            // Assert - nada foi recriado nem repopulado: CDG continua removido e GRU renomeado
+            assertEquals(AEROPORTOS_DATA_SQL - 1, contar(jdbcTemplate));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM aeroporto WHERE codigo_iata = 'CDG'", Integer.class));
+            assertEquals("Guarulhos", jdbcTemplate.queryForObject(
+                    "SELECT nome_aeroporto FROM aeroporto WHERE codigo_iata = 'GRU'", String.class));
+            // Com a tabela já populada a carga inicial não roda de novo
+            assertFalse(contexto.getBean(CargaInicialAeroportos.class).carregarSeVazio());
+            assertEquals(AEROPORTOS_DATA_SQL - 1, contar(jdbcTemplate));
+        }
+    }
+
+    private static ConfigurableApplicationContext subir(String url) {
+        return new SpringApplicationBuilder(ApiAeroportosApplication.class).run(
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=" + url,
+                "--server.port=0");
+    }
+
+    private static int contar(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM aeroporto", Integer.class);
+    }
+}
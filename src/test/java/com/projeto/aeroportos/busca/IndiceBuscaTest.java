@@ -0,0 +1,113 @@
+package com.projeto.aeroportos.busca;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoEncontrado;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceBuscaTest {
+
+    private IndiceBusca indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBusca();
+        indice.carregar(List.of(
+            new Aeroporto("Aeroporto Internacional de São Paulo/Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0),
+            new Aeroporto("Aeroporto de Congonhas", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 802.0),
+            new Aeroporto("Aeroporto Santos Dumont", "SDU", "Rio de Janeiro", "BR", -22.9105, -43.1631, 3.0),
+            new Aeroporto("Aeroporto de São José dos Campos", "SJK", "São José dos Campos", "BR", -23.2292, -45.8615, 646.0),
+            new Aeroporto("Heathrow", "LHR", "London", "GB", 51.4775, -0.4614, 25.0)
+        ));
+    }
+
+    @Test
+    void testBuscar_SemAcento_DeveEncontrarNomesComAcento() {
+        // Act
+        List<AeroportoEncontrado> encontrados = indice.buscar("sao paulo", 10);
+
+        // Assert - cidade começando com a consulta
+        assertEquals(List.of("CGH", "GRU"), codigos(encontrados));
+        assertEquals(IndiceBusca.CIDADE_PREFIXO, encontrados.get(0).relevancia());
+    }
+
+    @Test
+    void testBuscar_DeveOrdenarPorRelevancia() {
+        // "s": IATA começando com S vem antes de cidade e de palavras no meio do nome
+        List<AeroportoEncontrado> encontrados = indice.buscar("S", 10);
+
+        assertEquals(List.of("SDU", "SJK", "CGH", "GRU"), codigos(encontrados));
+        assertEquals(IndiceBusca.IATA_PREFIXO, encontrados.get(0).relevancia());
+        assertEquals(IndiceBusca.IATA_EXATO, indice.buscar("gru", 10).get(0).relevancia());
+    }
+
+    @Test
+    void testBuscar_ComVariosTermos_DeveExigirTodos() {
+        assertEquals(List.of("SJK"), codigos(indice.buscar("campos sao", 10)));
+        assertEquals(List.of("SDU"), codigos(indice.buscar("dumont rio", 10)));
+        assertTrue(indice.buscar("dumont london", 10).isEmpty());
+    }
+
+    @Test
+    void testBuscar_ComConsultaOuLimiteInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar(" - ", 10));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("sao", 0));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("sao", IndiceBusca.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    void testAoAlterar_DeveManterOIndiceSincronizado() {
+        // Act - renomeia LHR e remove CGH
+        indice.aoAlterar(AeroportoAlteradoEvent.atualizado(
+            new Aeroporto("Heathrow Airport", "LHR", "Londres", "GB", 51.4775, -0.4614, 25.0)));
+        indice.aoAlterar(AeroportoAlteradoEvent.removido("CGH", 2));
+
+        // Assert
+        assertEquals(List.of("LHR"), codigos(indice.buscar("londres", 10)));
+        assertTrue(indice.buscar("london", 10).isEmpty());
+        assertTrue(indice.buscar("congonhas", 10).isEmpty());
+    }
+
+    @Test
+    void testAoAlterar_AntesDaRemontagem_DeveAplicarAsPendentesSobreAFotoAntiga() {
+        // Arrange - remontagens guardadas em vez de executadas
+        List<Runnable> remontagens = new ArrayList<>();
+        ReflectionTestUtils.setField(indice, "executor", (Executor) remontagens::add);
+
+        // Act - renomeia LHR, remove CGH e cria VCP; a foto ainda é a antiga
+        indice.aoAlterar(AeroportoAlteradoEvent.atualizado(
+            new Aeroporto("Heathrow Airport", "LHR", "Londres", "GB", 51.4775, -0.4614, 25.0)));
+        indice.aoAlterar(AeroportoAlteradoEvent.removido("CGH", 2));
+        indice.aoAlterar(AeroportoAlteradoEvent.criado(
+            new Aeroporto("Aeroporto de Viracopos", "VCP", "Campinas", "BR", -23.0074, -47.1345, 661.0)));
+
+        // Assert - as consultas já refletem tudo, na ordem de relevância da foto
+        assertEquals(1, remontagens.size());
+        assertEquals(List.of("LHR"), codigos(indice.buscar("londres", 10)));
+        assertTrue(indice.buscar("london", 10).isEmpty());
+        assertTrue(indice.buscar("congonhas", 10).isEmpty());
+        assertEquals(List.of("GRU"), codigos(indice.buscar("sao paulo", 10)));
+        assertEquals(List.of("SDU", "SJK", "GRU"), codigos(indice.buscar("S", 10)));
+        assertEquals(List.of("VCP", "SJK"), codigos(indice.buscar("ca", 10)));
+        assertEquals(List.of("VCP"), codigos(indice.buscar("ca", 1)));
+
+        // A remontagem troca a foto sem mudar os resultados
+        remontagens.forEach(Runnable::run);
+        assertEquals(List.of("LHR"), codigos(indice.buscar("londres", 10)));
+        assertEquals(List.of("VCP", "SJK"), codigos(indice.buscar("ca", 10)));
+        assertEquals(List.of("SDU", "SJK", "GRU"), codigos(indice.buscar("S", 10)));
+        assertTrue(indice.buscar("congonhas", 10).isEmpty());
+    }
+
+    private static List<String> codigos(List<AeroportoEncontrado> encontrados) {
+        return encontrados.stream().map(e -> e.aeroporto().getCodigoIata()).toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.projeto.aeroportos.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.cache.CacheListaCompleta.CorpoListaCompleta;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheListaCompletaTest {
+
+    @Mock
+    private AeroportoService aeroportoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CacheListaCompleta cache;
+
+    @BeforeEach
+    void setUp() {
+        when(aeroportoService.etagColecao()).thenReturn("\"1-1-0\"", "\"2-3-0\"");
+        when(aeroportoService.listarTodos())
+            .thenReturn(List.of(new Aeroporto("Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0)))
+            .thenReturn(List.of(new Aeroporto("Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0),
+                    new Aeroporto("Congonhas", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 802.0)));
+    }
+
+    @Test
+    void testObter_ComErrosSimultaneos_DeveMontarUmaVezParaTodos() throws Exception {
+        // Arrange - a montagem só termina depois que as outras requisições chegaram
+        int requisicoes = 20;
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            iniciada.countDown();
+            liberar.await();
+            return null;
+        }).when(transactionManager).getTransaction(any());
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+
+        try {
+            // Act
+            List<Future<CorpoListaCompleta>> resultados = new ArrayList<>();
+            for (int i = 0; i < requisicoes; i++) {
+                resultados.add(executor.submit(cache::obter));
+            }
+            assertTrue(iniciada.await(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            liberar.countDown();
+
+            // Assert
+            CorpoListaCompleta primeiro = resultados.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<CorpoListaCompleta> resultado : resultados) {
+                assertSame(primeiro, resultado.get(10, TimeUnit.SECONDS));
+            }
+            verify(aeroportoService, times(1)).listarTodos();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testObter_DeveMontarUmaVezEReaproveitarOsBytes() throws IOException {
+        // Act
+        CorpoListaCompleta primeiro = cache.obter();
+        CorpoListaCompleta segundo = cache.obter();
+
+        // Assert
+        assertSame(primeiro, segundo);
+        assertEquals("\"1-1-0\"", primeiro.etag());
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(primeiro.gzip()))) {
+            assertArrayEquals(primeiro.json(), entrada.readAllBytes());
+        }
+        verify(aeroportoService, times(1)).listarTodos();
+    }
+
+    @Test
+    void testAoAlterar_DeveDescartarOsBytesEMontarDeNovo() {
+        // Arrange
+        CorpoListaCompleta antes = cache.obter();
+
+        // Act
+        cache.aoAlterar(AeroportoAlteradoEvent.removido("CGH", 2));
+        CorpoListaCompleta depois = cache.obter();
+
+        // Assert
+        assertNotSame(antes, depois);
+        assertEquals("\"2-3-0\"", depois.etag());
+        assertTrue(new String(depois.json()).contains("CGH"));
+        verify(aeroportoService, times(2)).listarTodos();
+    }
+
+    @Test
+    void testAoAlterar_ComVariosEventosNaMesmaTransacao_DeveRegistrarUmaSoInvalidacaoNoFim() {
+        // Arrange
+        cache.obter();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act - um lote com três aeroportos
+            cache.aoAlterar(AeroportoAlteradoEvent.removido("AAA", 1));
+            cache.aoAlterar(AeroportoAlteradoEvent.removido("BBB", 1));
+            cache.aoAlterar(AeroportoAlteradoEvent.removido("CCC", 1));
+
+            // Assert - e o fim da transação libera a marca para a próxima
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, sincronizacoes.size());
+            sincronizacoes.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertFalse(TransactionSynchronizationManager.hasResource(cache));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.projeto.aeroportos.cache;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.exception.AeroportoNaoEncontradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CargasIataEmAndamentoTest {
+
+    private final CargasIataEmAndamento cargas = new CargasIataEmAndamento();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCarregar_ComFalha_DevePropagarAMesmaExcecaoParaTodosENaoGuardarOErro() throws Exception {
+        // Arrange - a carga falha só depois que as outras requisições estiverem esperando
+        int requisicoes = 20;
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger cargasExecutadas = new AtomicInteger();
+        AeroportoNaoEncontradoException falha = new AeroportoNaoEncontradoException("XYZ");
+
+        // Act
+        List<Future<Aeroporto>> resultados = new ArrayList<>();
+        for (int i = 0; i < requisicoes; i++) {
+            resultados.add(executor.submit(() -> cargas.carregar("XYZ", () -> {
+                cargasExecutadas.incrementAndGet();
+                aguardar(liberar);
+                throw falha;
+            })));
+        }
+        aguardarCompartilhadas(requisicoes - 1);
+        liberar.countDown();
+
+        // Assert
+        for (Future<Aeroporto> resultado : resultados) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> resultado.get(10, TimeUnit.SECONDS));
+            assertSame(falha, e.getCause());
+        }
+        assertEquals(1, cargasExecutadas.get());
+        // A falha não fica guardada: a próxima busca consulta de novo
+        Aeroporto gru = new Aeroporto("Guarulhos", "XYZ", "São Paulo", "BR", -23.4, -46.4, 750.0);
+        assertSame(gru, cargas.carregar("XYZ", () -> gru));
+    }
+
+    @Test
+    void testDescartar_DeveFazerAProximaBuscaIniciarOutraCarga() throws Exception {
+        // Arrange - carga lenta em andamento quando o código é alterado
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Aeroporto antigo = new Aeroporto("Antigo", "GRU", "São Paulo", "BR", -23.4, -46.4, 750.0);
+        Aeroporto novo = new Aeroporto("Novo", "GRU", "São Paulo", "BR", -23.4, -46.4, 750.0);
+        Future<Aeroporto> lenta = executor.submit(() -> cargas.carregar("GRU", () -> {
+            iniciada.countDown();
+            aguardar(liberar);
+            return antigo;
+        }));
+        assertTrue(iniciada.await(10, TimeUnit.SECONDS));
+
+        // Act
+        cargas.descartar("GRU");
+        Aeroporto depois = cargas.carregar("GRU", () -> novo);
+        liberar.countDown();
+
+        // Assert
+        assertSame(novo, depois);
+        assertSame(antigo, lenta.get(10, TimeUnit.SECONDS));
+    }
+
+    private void aguardarCompartilhadas(long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cargas.getCompartilhadas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.projeto.aeroportos.config;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.ResultadoLote;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static com.projeto.aeroportos.config.AeroportoProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AeroportoProtobufHttpMessageConverterTest {
+
+    private static final Type LISTA_AEROPORTOS = new ParameterizedTypeReference<List<Aeroporto>>() { }.getType();
+
+    private final AeroportoProtobufHttpMessageConverter conversor = new AeroportoProtobufHttpMessageConverter();
+
+    @Test
+    void testEscreverELerLista_DevePreservarTodosOsCampos() throws Exception {
+        // Arrange
+        Aeroporto gru = new Aeroporto("Aeroporto de Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0);
+        gru.setId(1L);
+        gru.setVersao(4L);
+        Aeroporto lis = new Aeroporto("Aeroporto de Lisboa", "LIS", "Lisboa", "PT", 38.7813, -9.1359, 114.0);
+        lis.setId(2L);
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        // Act
+        conversor.write(List.of(gru, lis), LISTA_AEROPORTOS, APPLICATION_PROTOBUF, saida);
+        @SuppressWarnings("unchecked")
+        List<Aeroporto> lidos = (List<Aeroporto>) conversor.read(
+                LISTA_AEROPORTOS, null, new MockHttpInputMessage(saida.getBodyAsBytes()));
+
+        // Assert
+        assertEquals(2, lidos.size());
+        Aeroporto primeiro = lidos.get(0);
+        assertEquals(1L, primeiro.getId());
+        assertEquals("Aeroporto de Guarulhos", primeiro.getNome());
+        assertEquals("GRU", primeiro.getCodigoIata());
+        assertEquals("São Paulo", primeiro.getCidade());
+        assertEquals("BR", primeiro.getCodigoPaisIso());
+        assertEquals(-23.4356, primeiro.getLatitude());
+        assertEquals(-46.4731, primeiro.getLongitude());
+        assertEquals(750.0, primeiro.getAltitude());
+        assertNull(primeiro.getVersao(), "versao é só de leitura");
+        assertEquals("LIS", lidos.get(1).getCodigoIata());
+    }
+
+    @Test
+    void testCanWrite_SoParaAeroportoEListaDeAeroportos() {
+        assertTrue(conversor.canWrite(Aeroporto.class, Aeroporto.class, APPLICATION_PROTOBUF));
+        assertTrue(conversor.canWrite(LISTA_AEROPORTOS, List.class, APPLICATION_PROTOBUF));
+        assertFalse(conversor.canWrite(ResultadoLote.class, ResultadoLote.class, APPLICATION_PROTOBUF));
+        assertFalse(conversor.canWrite(new ParameterizedTypeReference<List<String>>() { }.getType(),
+                List.class, APPLICATION_PROTOBUF));
+    }
+}
@@ -0,0 +1,34 @@
+package com.projeto.aeroportos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem o ThreadsVirtuaisConfig (build sem -Pjava21) o perfil virtual-threads não sobe; em JDK 17
+// falha já pela versão da JVM
+class VerificacaoThreadsVirtuaisTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withUserConfiguration(VerificacaoThreadsVirtuais.class);
+
+    @Test
+    void testSubida_ComPerfilVirtualThreadsSemExecutorVirtual_DeveFalhar() {
+        contexto.withPropertyValues("spring.profiles.active=virtual-threads")
+                .run(ctx -> {
+                    assertThat(ctx).hasFailed();
+                    assertThat(ctx.getStartupFailure())
+                            .rootCause()
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("perfil virtual-threads exige");
+                });
+    }
+
+    @Test
+    void testSubida_SemPerfilVirtualThreads_NaoDeveVerificar() {
+        contexto.run(ctx -> {
+            assertThat(ctx).hasNotFailed();
+            assertThat(ctx).doesNotHaveBean(VerificacaoThreadsVirtuais.class);
+        });
+    }
+}
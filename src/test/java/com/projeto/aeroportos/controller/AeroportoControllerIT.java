@@ -1,6 +1,7 @@
 package com.projeto.aeroportos.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.projeto.aeroportos.domain.Aeroporto;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -14,7 +15,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -286,4 +295,455 @@ void testCriarAeroportoComIataDuplicado_DeveRetornarErro() throws Exception {
                 .content(aeroportoJson))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListarPaginado_DevePercorrerTodasAsPaginasPeloCursor() throws Exception {
+        for (String iata : new String[] {"PGA", "PGB", "PGC"}) {
+            Aeroporto aeroporto = new Aeroporto("Aeroporto " + iata, iata, "Cidade", "BR", 0.0, 0.0, 0.0);
+            mockMvc.perform(post("/api/v1/aeroportos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(aeroporto)));
+        }
+
+        mockMvc.perform(get("/api/v1/aeroportos").param("limit", "2").param("after", "PG"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[*].codigoIata", contains("PGA", "PGB")))
+                .andExpect(jsonPath("$.proximoCursor").value("PGB"));
+
+        mockMvc.perform(get("/api/v1/aeroportos").param("limit", "2").param("after", "PGB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[*].codigoIata", contains("PGC")))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+    }
+
+    @Test
+    void testListarPaginado_ComLimiteInvalido_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportar_DeveRetornarUmAeroportoPorLinha() throws Exception {
+        Aeroporto aeroporto1 = new Aeroporto("Aeroporto 1", "EXA", "Cidade 1", "BR", 0.0, 0.0, 0.0);
+        Aeroporto aeroporto2 = new Aeroporto("Aeroporto 2", "EXB", "Cidade 2", "US", 1.0, 1.0, 1.0);
+        for (Aeroporto aeroporto : new Aeroporto[] {aeroporto1, aeroporto2}) {
+            mockMvc.perform(post("/api/v1/aeroportos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(aeroporto)));
+        }
+
+        String corpo = mockMvc.perform(get("/api/v1/aeroportos/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("EXA",
+                objectMapper.readValue(linhas[0], Aeroporto.class).getCodigoIata());
+        assertEquals("EXB",
+                objectMapper.readValue(linhas[1], Aeroporto.class).getCodigoIata());
+    }
+
+    @Test
+    void testImportarCsv_DeveConverterAltitudeERelatarRejeicoes() throws Exception {
+        String csv = """
+                id,ident,type,name,latitude_deg,longitude_deg,elevation_ft,continent,iso_country,municipality,iata_code
+                1,SBXA,small_airport,"Aeroporto Importado, Teste",-10.5,-40.25,1000,SA,BR,Cidade A,IMA
+                2,SBXB,small_airport,Sem IATA,-10.5,-40.25,100,SA,BR,Cidade B,
+                3,SBXC,small_airport,Abaixo do mar,-10.5,-40.25,-50,SA,BR,Cidade C,IMC
+                4,SBXD,small_airport,Duplicado no arquivo,-10.5,-40.25,100,SA,BR,Cidade D,IMA
+                5,SBXE,small_airport,Latitude ruim,abc,-40.25,100,SA,BR,Cidade E,IME
+                """;
+
+        mockMvc.perform(post("/api/v1/aeroportos/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(5))
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.semCodigoIata").value(1))
+                .andExpect(jsonPath("$.totalRejeitadas").value(3))
+                .andExpect(jsonPath("$.rejeitadas[*].codigoIata", contains("IMC", "IMA", "IME")))
+                .andExpect(jsonPath("$.rejeitadas[0].linha").value(4));
+
+        mockMvc.perform(get("/api/v1/aeroportos/IMA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Aeroporto Importado, Teste"))
+                .andExpect(jsonPath("$.altitude").value(304.8));
+    }
+
+    @Test
+    void testImportarCsv_SemColunaObrigatoria_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/v1/aeroportos/import")
+                .contentType("text/csv")
+                .content("name,iata_code\nTeste,TST\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCriarEmLote_ModoUpsert_DeveCriarEAtualizar() throws Exception {
+        Aeroporto existente = new Aeroporto("Aeroporto Antigo", "LTA", "Cidade", "BR", 0.0, 0.0, 0.0);
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(existente)));
+
+        Aeroporto alterado = new Aeroporto("Aeroporto Novo Nome", "LTA", "Cidade", "BR", 0.0, 0.0, 0.0);
+        Aeroporto novo = new Aeroporto("Aeroporto Novo", "LTB", "Cidade", "US", 1.0, 1.0, 1.0);
+
+        mockMvc.perform(post("/api/v1/aeroportos/batch")
+                .param("modo", "UPSERT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(alterado, novo))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.criados", contains("LTB")))
+                .andExpect(jsonPath("$.atualizados", contains("LTA")));
+
+        mockMvc.perform(get("/api/v1/aeroportos/LTA"))
+                .andExpect(jsonPath("$.nome").value("Aeroporto Novo Nome"));
+        mockMvc.perform(get("/api/v1/aeroportos/LTB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").isNumber());
+    }
+
+    @Test
+    void testCriarEmLote_ModoFalhar_ComIataExistente_DeveRetornar400() throws Exception {
+        Aeroporto existente = new Aeroporto("Aeroporto", "LTC", "Cidade", "BR", 0.0, 0.0, 0.0);
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(existente)));
+
+        Aeroporto novo = new Aeroporto("Aeroporto Novo", "LTD", "Cidade", "US", 1.0, 1.0, 1.0);
+        mockMvc.perform(post("/api/v1/aeroportos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(novo, existente))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/aeroportos/LTD"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCalcularDistancias_DeveRetornarMatrizOrigensPorDestinos() throws Exception {
+        criarAeroportos(
+            new Aeroporto("Origem A", "MXA", "Cidade", "BR", 0.0, 0.0, 0.0),
+            new Aeroporto("Destino B", "MXB", "Cidade", "BR", 0.0, 10.0, 0.0),
+            new Aeroporto("Destino C", "MXC", "Cidade", "BR", 10.0, 0.0, 0.0));
+
+        mockMvc.perform(post("/api/v1/aeroportos/distances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"origens\": [\" mxa \"], \"destinos\": [\"MXB\", \"MXC\", \"MXA\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.destinos", contains("MXB", "MXC", "MXA")))
+                .andExpect(jsonPath("$.distanciasKm[0][0]", closeTo(1111.95, 0.1)))
+                .andExpect(jsonPath("$.distanciasKm[0][2]").value(0.0))
+                .andExpect(jsonPath("$.rumosGraus[0][0]", closeTo(90.0, 1e-6)))
+                .andExpect(jsonPath("$.rumosGraus[0][1]", closeTo(0.0, 1e-6)));
+    }
+
+    @Test
+    void testCalcularDistancias_ComCodigoDesconhecido_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/v1/aeroportos/distances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"origens\": [\"ZZZ\"], \"destinos\": [\"ZZY\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("ZZY, ZZZ")));
+    }
+
+    @Test
+    void testCalcularDistancias_ComCodigoNulo_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/v1/aeroportos/distances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"origens\": [\"GRU\", null], \"destinos\": [\"GRU\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("nulos")));
+    }
+
+    @Test
+    void testBuscarVariosPorIata_DeveRetornarEncontradosENaoEncontrados() throws Exception {
+        criarAeroportos(
+            new Aeroporto("Aeroporto Multi A", "MGA", "Cidade", "BR", -10.0, -40.0, 10.0),
+            new Aeroporto("Aeroporto Multi B", "MGB", "Cidade", "BR", -11.0, -41.0, 10.0));
+
+        // GET com os códigos na query string
+        mockMvc.perform(get("/api/v1/aeroportos").param("iata", "mgb,ZZZ,MGA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.encontrados[*].codigoIata", contains("MGB", "MGA")))
+                .andExpect(jsonPath("$.encontrados[1].nome").value("Aeroporto Multi A"))
+                .andExpect(jsonPath("$.naoEncontrados", contains("ZZZ")));
+
+        // POST com os códigos no corpo
+        mockMvc.perform(post("/api/v1/aeroportos/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"MGA\", \"ZZY\", \"MGB\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.encontrados[*].codigoIata", contains("MGA", "MGB")))
+                .andExpect(jsonPath("$.naoEncontrados", contains("ZZY")));
+
+        mockMvc.perform(post("/api/v1/aeroportos/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListar_ComGruposDeParametrosCombinados_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos").param("limit", "3").param("codigoPaisIso", "US"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("limit, codigoPaisIso")));
+        mockMvc.perform(get("/api/v1/aeroportos").param("fields", "codigoIata").param("codigoPaisIso", "US"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/aeroportos").param("iata", "GRU")
+                .param("latMin", "-24").param("latMax", "-22").param("lonMin", "-47").param("lonMax", "-43"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/aeroportos").param("iata", "GRU").param("codigoPaisIso", "BR"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/aeroportos").param("iata", "GRU").param("limit", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListar_ComCaixaIncompletaSemLatMin_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos").param("latMax", "-22").param("lonMin", "-47").param("lonMax", "-43"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("latMin, latMax, lonMin e lonMax")));
+        mockMvc.perform(get("/api/v1/aeroportos").param("lonMin", "-47")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/aeroportos").param("lonMax", "-43")
+                .accept(MediaType.valueOf("application/cbor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListar_ComAfterSemLimit_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos").param("after", "GRU"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("after exige limit")));
+    }
+
+    @Test
+    void testBuscarPorIata_ComIfNoneMatch_DeveRetornar304SemCorpo() throws Exception {
+        criarAeroportos(new Aeroporto("Aeroporto Etag", "ETG", "Cidade", "BR", -10.0, -40.0, 10.0));
+
+        String etag = mockMvc.perform(get("/api/v1/aeroportos/ETG"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"\\d+-0\"")))
+                .andExpect(jsonPath("$.versao").value(0))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/aeroportos/ETG").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testListarTodos_ComIfNoneMatch_DeveRetornar304AteAColecaoMudar() throws Exception {
+        criarAeroportos(new Aeroporto("Aeroporto Etag A", "ETA", "Cidade", "BR", -10.0, -40.0, 10.0));
+
+        String etag = mockMvc.perform(get("/api/v1/aeroportos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/aeroportos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Uma criação muda o ETag da coleção
+        criarAeroportos(new Aeroporto("Aeroporto Etag B", "ETB", "Cidade", "BR", -10.0, -40.0, 10.0));
+        mockMvc.perform(get("/api/v1/aeroportos").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[*].codigoIata", hasItems("ETA", "ETB")));
+    }
+
+    @Test
+    void testAtualizar_ComIfMatch_DeveIncrementarVersaoERecusarEtagAntigo() throws Exception {
+        Aeroporto aeroporto = new Aeroporto("Aeroporto Versionado", "VER", "Cidade", "BR", -10.0, -40.0, 10.0);
+        criarAeroportos(aeroporto);
+        String etagInicial = mockMvc.perform(get("/api/v1/aeroportos/VER"))
+                .andReturn().getResponse().getHeader("ETag");
+        aeroporto.setNome("Aeroporto Versionado 2");
+
+        // Act & Assert - If-Match atual: atualiza e devolve o ETag da versão 1
+        mockMvc.perform(put("/api/v1/aeroportos/VER")
+                .header("If-Match", etagInicial)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(aeroporto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(1))
+                .andExpect(header().string("ETag", etagInicial.replace("-0\"", "-1\"")));
+
+        // If-Match antigo: 412
+        mockMvc.perform(put("/api/v1/aeroportos/VER")
+                .header("If-Match", etagInicial)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(aeroporto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testListarComFields_DeveRetornarSoAProjecaoOrdenadaPorIata() throws Exception {
+        criarAeroportos(
+            new Aeroporto("Aeroporto Campos B", "FDB", "Cidade B", "BR", -10.0, -40.0, 10.0),
+            new Aeroporto("Aeroporto Campos A", "FDA", "Cidade A", "BR", -11.0, -41.0, 20.0));
+
+        mockMvc.perform(get("/api/v1/aeroportos").param("fields", "codigoIata,nome,cidade"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[*].codigoIata", contains("FDA", "FDB")))
+                .andExpect(jsonPath("$[0].cidade").value("Cidade A"))
+                .andExpect(jsonPath("$[0].latitude").doesNotExist())
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/aeroportos").param("fields", "altitude"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testNegociacaoDeConteudo_DeveResponderCborOuProtobufEManterJsonComoPadrao() throws Exception {
+        criarAeroportos(new Aeroporto("Aeroporto Binario", "BIN", "Cidade", "BR", -10.5, -40.25, 10.0));
+
+        // Sem Accept: JSON
+        mockMvc.perform(get("/api/v1/aeroportos/BIN"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        // CBOR decodificado com um ObjectMapper de CBOR
+        byte[] cbor = mockMvc.perform(get("/api/v1/aeroportos/BIN").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        Aeroporto lido = new ObjectMapper(new CBORFactory()).readValue(cbor, Aeroporto.class);
+        assertEquals("BIN", lido.getCodigoIata());
+        assertEquals(-40.25, lido.getLongitude());
+
+        mockMvc.perform(get("/api/v1/aeroportos").accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"));
+
+        // Protobuf só cobre Aeroporto e listas de Aeroporto
+        mockMvc.perform(post("/api/v1/aeroportos/distances")
+                .accept("application/x-protobuf")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"origens\": [\"BIN\"], \"destinos\": [\"BIN\"]}"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void testListarTodos_ComAcceptEncodingGzip_DeveServirBytesEmCacheAteUmaAlteracao() throws Exception {
+        criarAeroportos(new Aeroporto("Aeroporto Comprimido", "GZP", "Cidade", "BR", -10.0, -40.0, 10.0));
+
+        // Act - mesma lista, com e sem gzip
+        byte[] comprimido = mockMvc.perform(get("/api/v1/aeroportos").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] puro = mockMvc.perform(get("/api/v1/aeroportos"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert - o gzip descomprime no mesmo JSON
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            assertArrayEquals(puro, entrada.readAllBytes());
+        }
+        assertTrue(comprimido.length < puro.length);
+        assertTrue(new String(puro, StandardCharsets.UTF_8).contains("\"GZP\""));
+
+        // Uma exclusão descarta os bytes em cache
+        mockMvc.perform(delete("/api/v1/aeroportos/GZP")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/aeroportos").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$[?(@.codigoIata == 'GZP')]").isEmpty());
+
+        // gzip recusado explicitamente vale mais que o *; só o * aceita
+        mockMvc.perform(get("/api/v1/aeroportos").header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/api/v1/aeroportos").header("Accept-Encoding", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void testFiltrar_PorPaisCidadeECaixa_DeveRetornarSoOsQueCasam() throws Exception {
+        criarAeroportos(
+            new Aeroporto("Aeroporto Filtro Um", "FLA", "Filtrolândia", "UY", -34.0, -56.0, 10.0),
+            new Aeroporto("Aeroporto Filtro Dois", "FLB", "Filtrolândia", "UY", -30.0, -56.0, 10.0),
+            new Aeroporto("Aeroporto Filtro Três", "FLC", "Outra", "UY", -34.5, -55.5, 10.0));
+
+        mockMvc.perform(get("/api/v1/aeroportos").param("codigoPaisIso", "UY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].codigoIata", contains("FLA", "FLB", "FLC")));
+        mockMvc.perform(get("/api/v1/aeroportos").param("codigoPaisIso", "UY").param("cidade", "Filtrolândia"))
+                .andExpect(jsonPath("$[*].codigoIata", contains("FLA", "FLB")));
+        mockMvc.perform(get("/api/v1/aeroportos")
+                .param("latMin", "-35").param("latMax", "-33").param("lonMin", "-57").param("lonMax", "-55"))
+                .andExpect(jsonPath("$[*].codigoIata", hasItems("FLA", "FLC")))
+                .andExpect(jsonPath("$[*].codigoIata", not(hasItem("FLB"))));
+        mockMvc.perform(get("/api/v1/aeroportos").param("codigoPaisIso", "UY").param("cidade", "Filtrolândia")
+                .param("latMin", "-35").param("latMax", "-33").param("lonMin", "-57").param("lonMax", "-55"))
+                .andExpect(jsonPath("$[*].codigoIata", contains("FLA")));
+
+        // Cidade sem país
+        mockMvc.perform(get("/api/v1/aeroportos").param("cidade", "Filtrolândia"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListarAlteracoes_DeveTrazerSoOQueMudouDepoisDeSinceComLapides() throws Exception {
+        // Arrange - revisão atual antes das escritas
+        String inicial = mockMvc.perform(get("/api/v1/aeroportos/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removidos").isEmpty())
+                .andReturn().getResponse().getContentAsString();
+        long since = objectMapper.readTree(inicial).get("revisao").asLong();
+
+        criarAeroportos(
+            new Aeroporto("Aeroporto Delta Um", "DLA", "Deltópolis", "BR", -10.0, -50.0, 100.0),
+            new Aeroporto("Aeroporto Delta Dois", "DLB", "Deltópolis", "BR", -10.1, -50.1, 100.0));
+        mockMvc.perform(put("/api/v1/aeroportos/DLA")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new Aeroporto("Aeroporto Delta Um Novo", "DLA", "Deltópolis", "BR", -10.0, -50.0, 100.0))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/aeroportos/DLB"))
+                .andExpect(status().isNoContent());
+
+        // Act & Assert - DLA uma vez, com o último estado; DLB só como lápide
+        mockMvc.perform(get("/api/v1/aeroportos/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revisao").value(since + 4))
+                .andExpect(jsonPath("$.alterados[*].codigoIata", contains("DLA")))
+                .andExpect(jsonPath("$.alterados[0].nome").value("Aeroporto Delta Um Novo"))
+                .andExpect(jsonPath("$.alterados[0].revisao").value(since + 3))
+                .andExpect(jsonPath("$.removidos[*].codigoIata", contains("DLB")))
+                .andExpect(jsonPath("$.removidos[0].revisao").value(since + 4));
+        mockMvc.perform(get("/api/v1/aeroportos/changes").param("since", String.valueOf(since + 4)))
+                .andExpect(jsonPath("$.alterados").isEmpty())
+                .andExpect(jsonPath("$.removidos").isEmpty());
+
+        // Recriar o código descarta a lápide
+        criarAeroportos(new Aeroporto("Aeroporto Delta Dois", "DLB", "Deltópolis", "BR", -10.1, -50.1, 100.0));
+        mockMvc.perform(get("/api/v1/aeroportos/changes").param("since", String.valueOf(since)))
+                .andExpect(jsonPath("$.alterados[*].codigoIata", contains("DLA", "DLB")))
+                .andExpect(jsonPath("$.removidos").isEmpty());
+
+        // since depois da revisão atual (ex.: banco recriado): o cliente deve recarregar tudo
+        mockMvc.perform(get("/api/v1/aeroportos/changes").param("since", String.valueOf(since + 100)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void criarAeroportos(Aeroporto... aeroportos) throws Exception {
+        for (Aeroporto aeroporto : aeroportos) {
+            mockMvc.perform(post("/api/v1/aeroportos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(aeroporto)))
+                    .andExpect(status().isCreated());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.projeto.aeroportos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem @Transactional: o índice espacial só recebe alterações depois do commit
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BuscaProximosIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AeroportoService aeroportoService;
+
+    @AfterEach
+    void limpar() {
+        for (String iata : List.of("NBA", "NBB", "NBC")) {
+            try {
+                aeroportoService.deletar(iata);
+            } catch (RuntimeException e) {
+                // já removido pelo próprio teste
+            }
+        }
+    }
+
+    @Test
+    void testBuscarProximos_DeveRefletirCriacaoAtualizacaoERemocao() throws Exception {
+        criar(new Aeroporto("Aeroporto A", "NBA", "Cidade", "BR", -10.0, -40.0, 0.0));
+        criar(new Aeroporto("Aeroporto B", "NBB", "Cidade", "BR", -10.2, -40.0, 0.0));
+        criar(new Aeroporto("Aeroporto C", "NBC", "Cidade", "BR", -30.0, -40.0, 0.0));
+
+        mockMvc.perform(get("/api/v1/aeroportos/nearby")
+                .param("lat", "-10.05").param("lon", "-40.0").param("radiusKm", "100").param("k", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", contains("NBA", "NBB")))
+                .andExpect(jsonPath("$[0].distanciaKm", closeTo(5.56, 0.1)));
+
+        // Move NBC para perto e remove NBA
+        Aeroporto nbcMovido = new Aeroporto("Aeroporto C", "NBC", "Cidade", "BR", -10.06, -40.0, 0.0);
+        mockMvc.perform(put("/api/v1/aeroportos/NBC")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(nbcMovido)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/aeroportos/NBA"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/aeroportos/nearby")
+                .param("lat", "-10.05").param("lon", "-40.0").param("radiusKm", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", contains("NBC", "NBB")));
+    }
+
+    @Test
+    void testBuscarProximos_ComLatitudeInvalida_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos/nearby").param("lat", "100").param("lon", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void criar(Aeroporto aeroporto) throws Exception {
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(aeroporto)))
+                .andExpect(status().isCreated());
+    }
+}
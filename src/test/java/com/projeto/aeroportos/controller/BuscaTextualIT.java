@@ -0,0 +1,78 @@
+package com.projeto.aeroportos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem @Transactional: o índice de busca só recebe alterações depois do commit
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BuscaTextualIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AeroportoService aeroportoService;
+
+    @AfterEach
+    void limpar() {
+        for (String iata : List.of("XQA", "XQB")) {
+            try {
+                aeroportoService.deletar(iata);
+            } catch (RuntimeException e) {
+                // já removido pelo próprio teste
+            }
+        }
+    }
+
+    @Test
+    void testBuscar_DeveIgnorarAcentosERefletirAlteracoes() throws Exception {
+        criar(new Aeroporto("Aeroporto Ávila", "XQA", "Xiquexique", "BR", -10.8, -42.7, 400.0));
+        criar(new Aeroporto("Aeroporto Xique Norte", "XQB", "Xiquexiquinho", "BR", -10.5, -42.5, 400.0));
+
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "xiquexiq"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", contains("XQA", "XQB")))
+                .andExpect(jsonPath("$[0].relevancia").value(60));
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "AVI"))
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", contains("XQA")));
+
+        // Remove XQA: some da busca logo após o commit
+        mockMvc.perform(delete("/api/v1/aeroportos/XQA"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "xiquexiq").param("limit", "1"))
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", contains("XQB")));
+    }
+
+    @Test
+    void testBuscar_SemTermo_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void criar(Aeroporto aeroporto) throws Exception {
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(aeroporto)))
+                .andExpect(status().isCreated());
+    }
+}
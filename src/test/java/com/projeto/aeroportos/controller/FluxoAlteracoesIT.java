@@ -0,0 +1,156 @@
+package com.projeto.aeroportos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.evento.FluxoAlteracoes;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem @Transactional: as alterações só entram no fluxo depois do commit
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class FluxoAlteracoesIT {
+
+    private static final Pattern EVENTO = Pattern.compile("id:(\\S+)\nevent:(\\S+)\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AeroportoService aeroportoService;
+
+    private final List<MvcResult> conexoes = new ArrayList<>();
+
+    @AfterEach
+    void limpar() {
+        conexoes.forEach(conexao -> conexao.getRequest().getAsyncContext().complete());
+        for (String iata : List.of("XSA", "XIA", "XIB")) {
+            try {
+                aeroportoService.deletar(iata);
+            } catch (RuntimeException e) {
+                // já removido pelo próprio teste
+            }
+        }
+    }
+
+    @Test
+    void testEventos_DevemChegarAoVivoERetomarPeloLastEventId() throws Exception {
+        MvcResult aoVivo = assinar(null);
+
+        // Act - cria, atualiza e remove
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new Aeroporto("Aeroporto Fluxo", "XSA", "Cidade", "BR", -10.0, -40.0, 0.0))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/v1/aeroportos/XSA")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new Aeroporto("Aeroporto Fluxo 2", "XSA", "Cidade", "BR", -10.0, -40.0, 0.0))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/aeroportos/XSA"))
+                .andExpect(status().isNoContent());
+
+        // Assert - os três, em ordem, com o estado gravado
+        List<String[]> eventos = aguardarEventos(aoVivo, 3);
+        assertThat(eventos.stream().map(e -> e[1]).toList(), contains("CRIADO", "ATUALIZADO", "REMOVIDO"));
+        assertThat(aoVivo.getResponse().getContentAsString(), containsString("\"nome\":\"Aeroporto Fluxo 2\""));
+
+        // Reconectando depois do CRIADO: recebe só os dois seguintes
+        MvcResult retomada = assinar(eventos.get(0)[0]);
+        List<String[]> perdidos = aguardarEventos(retomada, 2);
+        assertThat(perdidos.stream().map(e -> e[0]).toList(), contains(eventos.get(1)[0], eventos.get(2)[0]));
+    }
+
+    @Test
+    void testLastEventIdDesconhecido_DevePedirResincronizacao() throws Exception {
+        MvcResult conexao = assinar("outra-execucao-42");
+
+        List<String[]> eventos = aguardarEventos(conexao, 1);
+
+        assertThat(eventos.get(0)[1], is(FluxoAlteracoes.EVENTO_RESINCRONIZAR));
+    }
+
+    @Test
+    void testImportacao_DeveEnviarUmaResincronizacaoERecarregarOsIndices() throws Exception {
+        // Arrange - índices já carregados antes da importação
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "importacao")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/aeroportos/nearby").param("lat", "-11").param("lon", "-41"))
+                .andExpect(status().isOk());
+        MvcResult aoVivo = assinar(null);
+        String csv = """
+                name,latitude_deg,longitude_deg,elevation_ft,iso_country,municipality,iata_code
+                Aeroporto Importacao Um,-11.0,-41.0,100,BR,Cidade,XIA
+                Aeroporto Importacao Dois,-11.1,-41.1,100,BR,Cidade,XIB
+                """;
+
+        // Act
+        mockMvc.perform(post("/api/v1/aeroportos/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(2));
+
+        // Assert - um único RESINCRONIZAR, não um CRIADO por linha
+        List<String[]> eventos = aguardarEventos(aoVivo, 1);
+        Thread.sleep(200);
+        assertThat(aoVivo.getResponse().getContentAsString(), not(containsString("event:CRIADO")));
+        assertThat(eventos.get(0)[1], is(FluxoAlteracoes.EVENTO_RESINCRONIZAR));
+        // Os índices foram recarregados do banco
+        mockMvc.perform(get("/api/v1/aeroportos/search").param("q", "importacao"))
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", containsInAnyOrder("XIA", "XIB")));
+        mockMvc.perform(get("/api/v1/aeroportos/nearby").param("lat", "-11").param("lon", "-41").param("radiusKm", "50"))
+                .andExpect(jsonPath("$[*].aeroporto.codigoIata", hasItems("XIA", "XIB")));
+    }
+
+    private MvcResult assinar(String lastEventId) throws Exception {
+        var requisicao = get("/api/v1/aeroportos/events").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            requisicao.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult resultado = mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        conexoes.add(resultado);
+        return resultado;
+    }
+
+    // Os envios são assíncronos: espera até chegarem pelo menos "quantidade" eventos
+    private static List<String[]> aguardarEventos(MvcResult conexao, int quantidade) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < limite) {
+            List<String[]> eventos = new ArrayList<>();
+            Matcher matcher = EVENTO.matcher(conexao.getResponse().getContentAsString());
+            while (matcher.find()) {
+                eventos.add(new String[] {matcher.group(1), matcher.group(2)});
+            }
+            if (eventos.size() >= quantidade) {
+                return eventos;
+            }
+            Thread.sleep(20);
+        }
+        fail("Esperava " + quantidade + " eventos, recebeu: " + conexao.getResponse().getContentAsString());
+        return List.of();
+    }
+}
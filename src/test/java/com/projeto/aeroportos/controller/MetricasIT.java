@@ -0,0 +1,50 @@
+package com.projeto.aeroportos.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Por padrão os testes não exportam métricas; @AutoConfigureObservability liga o Prometheus.
+// Contexto diferente dos outros ITs, então usa um banco H2 próprio (o schema.sql não é idempotente)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricas;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricasIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPrometheus_DeveExporLatenciaPorEndpointRepositorioPoolECache() throws Exception {
+        // Arrange: uma busca que vai ao cache, ao repositório e termina em 404
+        mockMvc.perform(get("/api/v1/aeroportos/ZZZ"))
+                .andExpect(status().isNotFound());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                // Histograma e percentis por endpoint, com o status da resposta
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/v1/aeroportos/{iata}\""),
+                        containsString("status=\"404\""),
+                        containsString("quantile=\"0.999\""))))
+                // Timers do repositório
+                .andExpect(content().string(allOf(
+                        containsString("spring_data_repository_invocations_seconds_count{"),
+                        containsString("method=\"findByCodigoIata\""))))
+                // Pool de conexões e cache IATA
+                .andExpect(content().string(allOf(
+                        containsString("hikaricp_connections_active{"),
+                        containsString("cache_gets_total{cache=\"iata\",result=\"miss\",} 1.0"))));
+    }
+}
@@ -0,0 +1,110 @@
+package com.projeto.aeroportos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.snapshot.SnapshotAeroportos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Modo snapshot ligado: GET por IATA e filtro por caixa leem o arquivo mapeado, mantido pelas
+// escritas commitadas (sem @Transactional). Banco H2 e arquivo próprios
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1",
+    "aeroportos.snapshot.habilitado=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SnapshotAeroportosIT {
+
+    @TempDir
+    static Path diretorio;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SnapshotAeroportos snapshotAeroportos;
+
+    @DynamicPropertySource
+    static void arquivo(DynamicPropertyRegistry registro) {
+        registro.add("aeroportos.snapshot.arquivo", () -> diretorio.resolve("aeroportos.snap").toString());
+    }
+
+    @Test
+    void testEscritas_DevemAparecerNasLeiturasPeloSnapshot() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new Aeroporto("Aeroporto Snapshot", "SNP", "Mapeada", "BR", -15.0, -48.0, 1000.0))))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/aeroportos/SNP"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.nome").value("Aeroporto Snapshot"))
+                .andExpect(jsonPath("$.cidade").value("Mapeada"));
+        mockMvc.perform(get("/api/v1/aeroportos")
+                .param("latMin", "-16").param("latMax", "-14").param("lonMin", "-49").param("lonMax", "-47"))
+                .andExpect(jsonPath("$[*].codigoIata", contains("SNP")));
+        assertEquals(1, snapshotAeroportos.getQuantidade());
+
+        mockMvc.perform(delete("/api/v1/aeroportos/SNP"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/aeroportos/SNP"))
+                .andExpect(status().isNotFound());
+        assertEquals(0, snapshotAeroportos.getQuantidade());
+    }
+
+    @Test
+    void testLoteUpsert_DeveGravarNoSnapshotAVersaoNova() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/v1/aeroportos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new Aeroporto("Aeroporto Lote", "LTE", "Cidade", "BR", -10.0, -40.0, 10.0))))
+                .andExpect(status().isCreated());
+        String etagAntigo = mockMvc.perform(get("/api/v1/aeroportos/LTE"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act - renomeia pelo lote
+        mockMvc.perform(post("/api/v1/aeroportos/batch").param("modo", "UPSERT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                    new Aeroporto("Aeroporto Lote Renomeado", "LTE", "Cidade", "BR", -10.0, -40.0, 10.0)))))
+                .andExpect(status().isOk());
+
+        // Assert - nome e versão novos, então o ETag mudou e o If-None-Match antigo não dá 304
+        mockMvc.perform(get("/api/v1/aeroportos/LTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Aeroporto Lote Renomeado"))
+                .andExpect(jsonPath("$.versao").value(1))
+                .andExpect(header().string("ETag", not(etagAntigo)));
+        mockMvc.perform(get("/api/v1/aeroportos/LTE").header("If-None-Match", etagAntigo))
+                .andExpect(status().isOk());
+
+        // Remove para não afetar a contagem do outro teste (mesmo banco e snapshot)
+        mockMvc.perform(delete("/api/v1/aeroportos/LTE"))
+                .andExpect(status().isNoContent());
+    }
+}
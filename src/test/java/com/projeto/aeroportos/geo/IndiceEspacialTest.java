@@ -0,0 +1,90 @@
+package com.projeto.aeroportos.geo;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoProximo;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceEspacialTest {
+
+    private IndiceEspacial indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceEspacial();
+        indice.carregar(List.of(
+            new Aeroporto("Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0),
+            new Aeroporto("Congonhas", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 802.0),
+            new Aeroporto("Galeão", "GIG", "Rio de Janeiro", "BR", -22.8089, -43.2436, 9.0),
+            new Aeroporto("Heathrow", "LHR", "London", "GB", 51.4775, -0.4614, 25.0),
+            // Lados opostos do antimeridiano
+            new Aeroporto("Suva", "SUV", "Suva", "FJ", -18.0433, 178.5592, 5.0),
+            new Aeroporto("Wallis", "WLS", "Wallis", "WF", -13.2383, -176.1992, 24.0)
+        ));
+    }
+
+    @Test
+    void testBuscarProximos_DeveOrdenarPorDistanciaELimitarAK() {
+        // Act - centro de São Paulo
+        List<AeroportoProximo> proximos = indice.buscarProximos(-23.5505, -46.6333, 500, 2);
+
+        // Assert
+        assertEquals(2, proximos.size());
+        assertEquals("CGH", proximos.get(0).aeroporto().getCodigoIata());
+        assertEquals("GRU", proximos.get(1).aeroporto().getCodigoIata());
+        assertTrue(proximos.get(0).distanciaKm() < proximos.get(1).distanciaKm());
+    }
+
+    @Test
+    void testBuscarProximos_DeveRespeitarORaio() {
+        List<AeroportoProximo> proximos = indice.buscarProximos(-23.5505, -46.6333, 50, 10);
+
+        assertEquals(2, proximos.size());
+        assertTrue(proximos.stream().allMatch(p -> p.distanciaKm() <= 50));
+    }
+
+    @Test
+    void testBuscarProximos_DeveAtravessarOAntimeridiano() {
+        // Act - ponto em 179.9°E, a ~750 km de Wallis (em longitude negativa)
+        List<AeroportoProximo> proximos = indice.buscarProximos(-15.0, 179.9, 1000, 5);
+
+        // Assert
+        assertEquals(2, proximos.size());
+        assertTrue(proximos.stream().anyMatch(p -> p.aeroporto().getCodigoIata().equals("WLS")));
+    }
+
+    @Test
+    void testBuscarProximos_ComRaioMaximo_DeveAcharQualquerPonto() {
+        List<AeroportoProximo> proximos = indice.buscarProximos(0, 0, IndiceEspacial.RAIO_MAXIMO_KM, 100);
+
+        assertEquals(6, proximos.size());
+    }
+
+    @Test
+    void testAoAlterar_DeveMoverERemoverAeroportos() {
+        // Arrange - GRU "muda" para Londres e CGH é removido
+        Aeroporto gruMovido = new Aeroporto("Guarulhos", "GRU", "São Paulo", "BR", 51.5, -0.5, 750.0);
+
+        // Act
+        indice.aoAlterar(AeroportoAlteradoEvent.atualizado(gruMovido));
+        indice.aoAlterar(AeroportoAlteradoEvent.removido("CGH", 2));
+
+        // Assert
+        assertTrue(indice.buscarProximos(-23.5505, -46.6333, 100, 10).isEmpty());
+        List<AeroportoProximo> londres = indice.buscarProximos(51.5, -0.5, 50, 10);
+        assertEquals(2, londres.size());
+        assertEquals("GRU", londres.get(0).aeroporto().getCodigoIata());
+    }
+
+    @Test
+    void testBuscarProximos_ComParametrosInvalidos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> indice.buscarProximos(91, 0, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscarProximos(0, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscarProximos(0, 0, 10, 0));
+    }
+}
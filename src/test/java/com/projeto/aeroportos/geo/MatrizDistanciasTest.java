@@ -0,0 +1,69 @@
+package com.projeto.aeroportos.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrizDistanciasTest {
+
+    @Test
+    void testCalcular_RumosNosPontosCardeais() {
+        // Arrange - de (0, 0) para norte, leste, sul e oeste
+        MatrizDistancias matriz = new MatrizDistancias(
+            new double[] {0}, new double[] {0},
+            new double[] {10, 0, -10, 0}, new double[] {0, 10, 0, -10});
+        double[][] distancias = new double[1][4];
+        double[][] rumos = new double[1][4];
+
+        // Act
+        matriz.calcular(distancias, rumos);
+
+        // Assert
+        assertArrayEquals(new double[] {0, 90, 180, 270}, rumos[0], 1e-9);
+        assertEquals(10 * Distancias.KM_POR_GRAU, distancias[0][0], 1e-6);
+    }
+
+    @Test
+    void testCalcular_GuarulhosAteHeathrow() {
+        MatrizDistancias matriz = new MatrizDistancias(
+            new double[] {-23.4356}, new double[] {-46.4731},
+            new double[] {51.4775}, new double[] {-0.4614});
+        double[][] distancias = new double[1][1];
+        double[][] rumos = new double[1][1];
+
+        matriz.calcular(distancias, rumos);
+
+        assertEquals(9461, distancias[0][0], 1);
+        assertEquals(27, rumos[0][0], 1);
+    }
+
+    @Test
+    void testCalcular_MatrizGrandeParalela_DeveBaterComHaversine() {
+        // Arrange - 300 x 300 passa do limite de paralelização
+        Random aleatorio = new Random(42);
+        int n = 300;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = aleatorio.nextDouble() * 180 - 90;
+            lon[i] = aleatorio.nextDouble() * 360 - 180;
+        }
+        assertTrue(n * n >= MatrizDistancias.PARES_PARA_PARALELIZAR);
+        double[][] distancias = new double[n][n];
+        double[][] rumos = new double[n][n];
+
+        // Act
+        new MatrizDistancias(lat, lon, lat, lon).calcular(distancias, rumos);
+
+        // Assert
+        for (int i = 0; i < n; i++) {
+            assertEquals(0, distancias[i][i], 1e-9);
+            for (int j = 0; j < n; j += 7) {
+                assertEquals(Distancias.haversineKm(lat[i], lon[i], lat[j], lon[j]), distancias[i][j], 1e-6);
+                assertTrue(rumos[i][j] >= 0 && rumos[i][j] < 360);
+            }
+        }
+    }
+}
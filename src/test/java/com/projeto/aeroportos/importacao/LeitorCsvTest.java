@@ -0,0 +1,42 @@
+package com.projeto.aeroportos.importacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorCsvTest {
+
+    @Test
+    void testProximoRegistro_ComCamposSimples() throws IOException {
+        // Arrange
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,b,c\r\n1,2,3\n"));
+
+        // Act & Assert
+        assertEquals(Arrays.asList("a", "b", "c"), leitor.proximoRegistro());
+        assertEquals(Arrays.asList("1", "2", "3"), leitor.proximoRegistro());
+        assertNull(leitor.proximoRegistro());
+    }
+
+    @Test
+    void testProximoRegistro_ComAspasVirgulasEQuebrasDeLinha() throws IOException {
+        // Arrange
+        String csv = "\"São Paulo, SP\",\"diz \"\"oi\"\"\",\"linha 1\nlinha 2\"\nfim,,\"\"";
+        LeitorCsv leitor = new LeitorCsv(new StringReader(csv));
+
+        // Act & Assert
+        assertEquals(Arrays.asList("São Paulo, SP", "diz \"oi\"", "linha 1\nlinha 2"), leitor.proximoRegistro());
+        assertEquals(1, leitor.getLinhaDoRegistro());
+        assertEquals(Arrays.asList("fim", "", ""), leitor.proximoRegistro());
+        assertEquals(3, leitor.getLinhaDoRegistro());
+        assertNull(leitor.proximoRegistro());
+    }
+
+    @Test
+    void testProximoRegistro_ComArquivoVazio_DeveRetornarNull() throws IOException {
+        assertNull(new LeitorCsv(new StringReader("")).proximoRegistro());
+    }
+}
@@ -0,0 +1,37 @@
+package com.projeto.aeroportos.reativo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A API reativa é opcional: sem aeroportos.reativo.habilitado=true nenhum bean dela é criado, então
+// um banco que não é H2 não impede a subida (o repositório reativo recusaria a URL do MySQL)
+class ApiReativaDesligadaTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withBean(DataSourceProperties.class, () -> {
+                DataSourceProperties propriedades = new DataSourceProperties();
+                propriedades.setUrl("jdbc:mysql://localhost:3306/aeroportos");
+                return propriedades;
+            })
+            .withUserConfiguration(AeroportoReativoRepository.class, AeroportoReativoHandler.class,
+                    ServidorReativo.class);
+
+    @Test
+    void testSubida_SemHabilitarEComMySql_NaoDeveCriarOsBeansReativos() {
+        contexto.run(ctx -> {
+            assertThat(ctx).hasNotFailed();
+            assertThat(ctx).doesNotHaveBean(ServidorReativo.class);
+            assertThat(ctx).doesNotHaveBean(AeroportoReativoRepository.class);
+            assertThat(ctx).doesNotHaveBean(AeroportoReativoHandler.class);
+        });
+    }
+
+    @Test
+    void testSubida_ComApiReativaHabilitadaEMySql_DeveFalhar() {
+        contexto.withPropertyValues("aeroportos.reativo.habilitado=true")
+                .run(ctx -> assertThat(ctx).hasFailed());
+    }
+}
@@ -0,0 +1,101 @@
+package com.projeto.aeroportos.reativo;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.service.AeroportoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+// Sem @Transactional: o R2DBC usa conexões próprias e só enxerga dados commitados.
+// A API reativa é desligada por padrão; contexto diferente dos ITs com MockMvc, então usa um banco H2 próprio
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reativo;DB_CLOSE_DELAY=-1",
+    "aeroportos.reativo.habilitado=true"
+})
+@ActiveProfiles("test")
+public class ApiReativaIT {
+
+    @Autowired
+    private ServidorReativo servidorReativo;
+
+    @Autowired
+    private AeroportoService aeroportoService;
+
+    private WebTestClient cliente;
+
+    @BeforeEach
+    void setUp() {
+        cliente = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + servidorReativo.getPorta())
+                .build();
+        aeroportoService.criar(new Aeroporto("Aeroporto Reativo A", "RXA", "Cidade A", "BR", -10.0, -40.0, 10.0));
+        aeroportoService.criar(new Aeroporto("Aeroporto Reativo B", "RXB", "Cidade B", "PT", 38.7, -9.1, 114.0));
+    }
+
+    @AfterEach
+    void limpar() {
+        for (String iata : List.of("RXA", "RXB")) {
+            aeroportoService.deletar(iata);
+        }
+    }
+
+    @Test
+    void testBuscarPorIata_DeveLerOQueFoiGravadoPeloJpa() {
+        cliente.get().uri("/api/v1/aeroportos/rxb")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.codigoIata").isEqualTo("RXB")
+                .jsonPath("$.cidade").isEqualTo("Cidade B")
+                .jsonPath("$.altitude").isEqualTo(114.0)
+                .jsonPath("$.versao").isEqualTo(0);
+    }
+
+    @Test
+    void testBuscarPorIata_Inexistente_DeveRetornar404() {
+        cliente.get().uri("/api/v1/aeroportos/ZZZ")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").value(containsString("ZZZ"));
+    }
+
+    @Test
+    void testListarTodos_DeveRetornarArrayJson() {
+        cliente.get().uri("/api/v1/aeroportos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[*].codigoIata", hasItems("RXA", "RXB"));
+    }
+
+    @Test
+    void testTransmitirTodos_DeveEmitirUmAeroportoPorItemRespeitandoDemanda() {
+        Flux<Aeroporto> fluxo = cliente.get().uri("/api/v1/aeroportos/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Aeroporto.class)
+                .getResponseBody();
+
+        // Pede um item por vez
+        StepVerifier.create(fluxo.filter(a -> a.getCodigoIata().startsWith("RX")), 1)
+                .expectNextMatches(a -> a.getCodigoIata().equals("RXA"))
+                .thenRequest(1)
+                .expectNextMatches(a -> a.getCodigoIata().equals("RXB"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,85 @@
+package com.projeto.aeroportos.repository;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cada chamada ao repositório é uma transação (e um contexto de persistência) nova, como uma
+// requisição: o que não vai ao banco vem do cache de segundo nível. Banco H2 próprio porque
+// liga as estatísticas (outra configuração de contexto)
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cachel2;DB_CLOSE_DELAY=-1",
+    "aeroportos.l2.estatisticas=true"
+})
+@ActiveProfiles("test")
+public class CacheSegundoNivelIT {
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private AeroportoLoteRepository aeroportoLoteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        aeroportoRepository.deleteAll();
+        aeroportoRepository.save(new Aeroporto("Aeroporto de Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 750.0));
+        aeroportoRepository.save(new Aeroporto("Aeroporto de Congonhas", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 802.0));
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void testFindByCodigoIata_NaSegundaVez_NaoDeveConsultarOBanco() {
+        // Act
+        Aeroporto primeiro = aeroportoRepository.findByCodigoIata("GRU").orElseThrow();
+        long consultasDepoisDoPrimeiro = estatisticas.getPrepareStatementCount();
+        Aeroporto segundo = aeroportoRepository.findByCodigoIata("GRU").orElseThrow();
+
+        // Assert - instâncias diferentes (contextos diferentes), nenhum SQL novo
+        assertNotSame(primeiro, segundo);
+        assertEquals("Aeroporto de Guarulhos", segundo.getNome());
+        assertEquals(consultasDepoisDoPrimeiro, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getNaturalIdCacheHitCount() >= 1);
+        assertTrue(aeroportoRepository.findByCodigoIata("XXX").isEmpty());
+    }
+
+    @Test
+    void testFindAll_DeveUsarOQueryCacheAteUmaEscrita() {
+        // Arrange
+        aeroportoRepository.findAll();
+        long consultas = estatisticas.getPrepareStatementCount();
+
+        // Act & Assert - segunda leitura sem SQL
+        assertEquals(2, aeroportoRepository.findAll().size());
+        assertEquals(consultas, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+
+        // Act & Assert - INSERT por JDBC (fora do Hibernate) também invalida o resultado
+        transactionTemplate.executeWithoutResult(status -> {
+            Aeroporto novo = new Aeroporto("Aeroporto de Viracopos", "VCP", "Campinas", "BR", -23.0074, -47.1345, 661.0);
+            aeroportoLoteRepository.inserirTodos(List.of(novo));
+        });
+        assertEquals(List.of("CGH", "GRU", "VCP"),
+                aeroportoRepository.findAll().stream().map(Aeroporto::getCodigoIata).sorted().toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.projeto.aeroportos.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Confere, com 10.000 linhas, que o SQL gerado pelos filtros do AeroportoRepository usa os
+// índices do schema.sql: captura o SQL real com um StatementInspector e roda EXPLAIN no H2.
+// ddl-auto=none para a tabela ser a do schema.sql (com os índices), num banco H2 próprio
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:planos;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.projeto.aeroportos.repository.PlanosDeConsultaIT$CapturaSql"
+})
+@ActiveProfiles("test")
+public class PlanosDeConsultaIT {
+
+    private static final int LINHAS = 10_000;
+    private static final String[] PAISES = {"BR", "US", "GB", "FR", "DE", "JP", "AR", "PT", "CA", "AU"};
+
+    @Autowired
+    private AeroportoRepository aeroportoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Guarda o SQL preparado pelo Hibernate
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void popular() {
+        if (jdbcTemplate.queryForObject("select count(*) from aeroporto", Integer.class) == LINHAS) {
+            return;
+        }
+        // Troca as linhas do data.sql por 10 países x 100 cidades, coordenadas espalhadas pelo globo
+        jdbcTemplate.update("delete from aeroporto");
+        List<Object[]> linhas = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            linhas.add(new Object[] {
+                "Aeroporto " + i, codigo(i), "Cidade " + (i % 100), PAISES[i % PAISES.length],
+                -90 + (i * 0.0179) % 180, -180 + (i * 0.0359) % 360, (double) (i % 3000)});
+        }
+        jdbcTemplate.batchUpdate("insert into aeroporto (nome_aeroporto, codigo_iata, cidade, codigo_pais_iso, "
+                + "latitude, longitude, altitude) values (?, ?, ?, ?, ?, ?, ?)", linhas);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testFiltroPorPais_DeveUsarIndicePaisCidade() {
+        String sql = capturar(() -> aeroportoRepository.findByCodigoPaisIsoOrderByCodigoIata("JP"));
+
+        String plano = explicar(sql, "JP");
+
+        assertThat(plano, containsString("IDX_AEROPORTO_PAIS_CIDADE"));
+        assertThat(plano, not(containsString("tableScan")));
+    }
+
+    @Test
+    void testFiltroPorPaisECidade_DeveUsarAsDuasColunasDoIndice() {
+        String sql = capturar(() -> aeroportoRepository.findByCodigoPaisIsoAndCidadeOrderByCodigoIata("JP", "Cidade 5"));
+
+        String plano = explicar(sql, "JP", "Cidade 5");
+
+        assertThat(plano, containsString("IDX_AEROPORTO_PAIS_CIDADE: CODIGO_PAIS_ISO = ?1\n        AND CIDADE = ?2"));
+        assertEquals(100, aeroportoRepository.findByCodigoPaisIsoAndCidadeOrderByCodigoIata("JP", "Cidade 5").size());
+    }
+
+    @Test
+    void testFiltroPorCaixa_DeveUsarIndiceLatitudeLongitude() {
+        String sql = capturar(() -> aeroportoRepository
+                .findByLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(-24.0, -22.0, -47.0, -43.0));
+
+        String plano = explicar(sql, -24.0, -22.0, -47.0, -43.0);
+
+        assertThat(plano, containsString("IDX_AEROPORTO_LAT_LON"));
+        assertThat(plano, not(containsString("tableScan")));
+    }
+
+    @Test
+    void testFiltroPorPaisECaixa_NaoDeveVarrerATabela() {
+        String sql = capturar(() -> aeroportoRepository
+                .findByCodigoPaisIsoAndLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata("BR", -24.0, -22.0, -47.0, -43.0));
+
+        String plano = explicar(sql, "BR", -24.0, -22.0, -47.0, -43.0);
+
+        assertThat(plano, anyOf(containsString("IDX_AEROPORTO_LAT_LON"), containsString("IDX_AEROPORTO_PAIS_CIDADE")));
+        assertThat(plano, not(containsString("tableScan")));
+    }
+
+    private static String capturar(Runnable consulta) {
+        CapturaSql.SQL.clear();
+        consulta.run();
+        assertThat(CapturaSql.SQL, hasSize(1));
+        return CapturaSql.SQL.get(0);
+    }
+
+    private String explicar(String sql, Object... parametros) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros);
+    }
+
+    private static String codigo(int indice) {
+        char[] letras = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letras[i] = (char) ('A' + indice % 26);
+            indice /= 26;
+        }
+        return new String(letras);
+    }
+}
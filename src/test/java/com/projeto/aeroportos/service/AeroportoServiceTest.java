@@ -1,21 +1,45 @@
 package com.projeto.aeroportos.service;
 
+import com.projeto.aeroportos.cache.CacheIata;
+import com.projeto.aeroportos.cache.CargasIataEmAndamento;
 import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.dto.AeroportoResumo;
+import com.projeto.aeroportos.dto.FiltroAeroportos;
+import com.projeto.aeroportos.dto.PaginaAeroportos;
+import com.projeto.aeroportos.dto.ResultadoBuscaMultipla;
+import com.projeto.aeroportos.dto.ResultadoLote;
 import com.projeto.aeroportos.exception.AeroportoNaoEncontradoException;
+import com.projeto.aeroportos.exception.VersaoDesatualizadaException;
+import com.projeto.aeroportos.repository.AeroportoLoteRepository;
 import com.projeto.aeroportos.repository.AeroportoRepository;
+import com.projeto.aeroportos.repository.RevisaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +49,27 @@ public class AeroportoServiceTest {
     @Mock
     private AeroportoRepository aeroportoRepository;
 
+    @Mock
+    private AeroportoLoteRepository aeroportoLoteRepository;
+
+    @Mock
+    private RevisaoRepository revisaoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CacheIata cacheIata = new CacheIata();
+
+    @Spy
+    private CargasIataEmAndamento cargasIata = new CargasIataEmAndamento();
+
     @InjectMocks
     private AeroportoService aeroportoService;
 
@@ -159,6 +204,89 @@ public class AeroportoServiceTest {
         verify(aeroportoRepository, times(1)).findAll();
     }
 
+    @Test
+    void testPercorrerTodos_DeveDesanexarCadaAeroportoConsumido() {
+        // Arrange
+        when(aeroportoRepository.streamTodos()).thenReturn(Stream.of(aeroportoGRU, aeroportoCGH));
+        List<String> consumidos = new ArrayList<>();
+
+        // Act
+        aeroportoService.percorrerTodos(aeroporto -> consumidos.add(aeroporto.getCodigoIata()));
+
+        // Assert
+        assertEquals(Arrays.asList("GRU", "CGH"), consumidos);
+        verify(entityManager).detach(aeroportoGRU);
+        verify(entityManager).detach(aeroportoCGH);
+        verify(aeroportoRepository, never()).findAll();
+    }
+
+    @Test
+    void testListarPagina_ComMaisItensQueOLimite_DeveRetornarCursor() {
+        // Arrange - o serviço pede limite + 1 para saber se há próxima página
+        when(aeroportoRepository.findByCodigoIataGreaterThanOrderByCodigoIataAsc("", PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(aeroportoCGH, aeroportoGRU));
+
+        // Act
+        PaginaAeroportos pagina = aeroportoService.listarPagina(null, 1);
+
+        // Assert
+        assertEquals(1, pagina.itens().size());
+        assertEquals("CGH", pagina.itens().get(0).getCodigoIata());
+        assertEquals("CGH", pagina.proximoCursor());
+    }
+
+    @Test
+    void testListarPagina_UltimaPagina_NaoDeveRetornarCursor() {
+        // Arrange
+        when(aeroportoRepository.findByCodigoIataGreaterThanOrderByCodigoIataAsc("CGH", PageRequest.of(0, 11)))
+            .thenReturn(Arrays.asList(aeroportoGRU));
+
+        // Act
+        PaginaAeroportos pagina = aeroportoService.listarPagina("cgh", 10);
+
+        // Assert
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void testFiltrar_PorPaisECaixa_DeveUsarOMetodoComIndice() {
+        // Arrange
+        when(aeroportoRepository.findByCodigoPaisIsoAndLatitudeBetweenAndLongitudeBetweenOrderByCodigoIata(
+                "BR", -24.0, -23.0, -47.0, -46.0))
+            .thenReturn(Arrays.asList(aeroportoCGH, aeroportoGRU));
+
+        // Act - país em minúsculas também vale
+        List<Aeroporto> aeroportos = aeroportoService.filtrar(
+            new FiltroAeroportos("br", null, -24.0, -23.0, -47.0, -46.0));
+
+        // Assert
+        assertEquals(2, aeroportos.size());
+        verify(aeroportoRepository, never()).findAll();
+    }
+
+    @Test
+    void testFiltrar_ComFiltrosIncompletos_DeveLancarExcecao() {
+        // Cidade sem país, caixa incompleta ou invertida, nenhum filtro
+        assertThrows(IllegalArgumentException.class, () ->
+            aeroportoService.filtrar(new FiltroAeroportos(null, "São Paulo", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () ->
+            aeroportoService.filtrar(new FiltroAeroportos(null, null, -24.0, -23.0, -47.0, null)));
+        assertThrows(IllegalArgumentException.class, () ->
+            aeroportoService.filtrar(new FiltroAeroportos(null, null, -23.0, -24.0, -47.0, -46.0)));
+        assertThrows(IllegalArgumentException.class, () ->
+            aeroportoService.filtrar(new FiltroAeroportos(null, null, null, null, null, null)));
+        verifyNoInteractions(aeroportoRepository);
+    }
+
+    @Test
+    void testListarPagina_ComLimiteInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> aeroportoService.listarPagina(null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> aeroportoService.listarPagina(null, AeroportoService.LIMITE_MAXIMO_PAGINA + 1));
+        verifyNoInteractions(aeroportoRepository);
+    }
+
     @Test
     void testBuscarPorIata_QuandoAeroportoExiste_DeveRetornarAeroporto() {
         // Arrange
@@ -206,6 +334,128 @@ public class AeroportoServiceTest {
         verify(aeroportoRepository, times(1)).findByCodigoIata("GRU");
     }
 
+    @Test
+    void testBuscarPorIata_AposAquecimento_NaoDeveConsultarBanco() {
+        // Arrange
+        when(aeroportoRepository.findByCodigoIata("GRU"))
+            .thenReturn(Optional.of(aeroportoGRU));
+
+        // Act - primeira chamada aquece o cache, as demais são servidas da memória
+        for (int i = 0; i < 10; i++) {
+            Aeroporto resultado = aeroportoService.buscarPorIata("gru");
+            assertEquals("GRU", resultado.getCodigoIata());
+        }
+
+        // Assert
+        verify(aeroportoRepository, times(1)).findByCodigoIata("GRU");
+        assertEquals(9, cacheIata.getAcertos());
+        assertEquals(1, cacheIata.getFalhas());
+    }
+
+    @Test
+    void testBuscarPorIata_ComRequisicoesSimultaneasNoCacheFrio_DeveConsultarBancoUmaVez() throws Exception {
+        // Arrange - a consulta só termina depois que todas as requisições estiverem esperando
+        int requisicoes = 50;
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        when(aeroportoRepository.findByCodigoIata("GRU")).thenAnswer(invocacao -> {
+            liberarConsulta.await();
+            return Optional.of(aeroportoGRU);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+
+        try {
+            // Act
+            List<Future<Aeroporto>> resultados = new ArrayList<>();
+            for (int i = 0; i < requisicoes; i++) {
+                resultados.add(executor.submit(() -> aeroportoService.buscarPorIata("GRU")));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cargasIata.getCompartilhadas() < requisicoes - 1 && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+            liberarConsulta.countDown();
+
+            // Assert
+            for (Future<Aeroporto> resultado : resultados) {
+                assertEquals("GRU", resultado.get(10, TimeUnit.SECONDS).getCodigoIata());
+            }
+            assertEquals(requisicoes - 1, cargasIata.getCompartilhadas());
+            verify(aeroportoRepository, times(1)).findByCodigoIata("GRU");
+        } finally {
+            liberarConsulta.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBuscarVariosPorIata_DeveUsarOCacheEUmaConsultaSoParaOsQueFaltam() {
+        // Arrange - GRU já está em cache
+        when(aeroportoRepository.findByCodigoIata("GRU")).thenReturn(Optional.of(aeroportoGRU));
+        aeroportoService.buscarPorIata("GRU");
+        when(aeroportoRepository.findByCodigoIataIn(List.of("CGH", "XXX")))
+            .thenReturn(List.of(aeroportoCGH));
+
+        // Act - repetidos, minúsculas e código fora do formato
+        ResultadoBuscaMultipla resultado = aeroportoService.buscarVariosPorIata(
+            List.of("cgh", "GRU", "XXX", " gru ", "G1"));
+
+        // Assert - na ordem do pedido; G1 nem vai ao banco
+        assertEquals(List.of("CGH", "GRU"),
+            resultado.encontrados().stream().map(Aeroporto::getCodigoIata).toList());
+        assertEquals(List.of("XXX", "G1"), resultado.naoEncontrados());
+        verify(aeroportoRepository, times(1)).findByCodigoIataIn(List.of("CGH", "XXX"));
+        // CGH ficou em cache para a próxima
+        assertEquals("Aeroporto de Congonhas", cacheIata.buscar("CGH").getNome());
+    }
+
+    @Test
+    void testBuscarVariosPorIata_ComListaVaziaOuGrandeDemais_DeveLancarExcecao() {
+        // Arrange
+        List<String> grandeDemais = new ArrayList<>();
+        for (int i = 0; i <= AeroportoService.LIMITE_MAXIMO_BUSCA_MULTIPLA; i++) {
+            grandeDemais.add("GRU");
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> aeroportoService.buscarVariosPorIata(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> aeroportoService.buscarVariosPorIata(grandeDemais));
+        verifyNoInteractions(aeroportoRepository);
+    }
+
+    @Test
+    void testBuscarPorIata_AposAtualizar_DeveConsultarBancoNovamente() {
+        // Arrange
+        when(aeroportoRepository.findByCodigoIata("GRU"))
+            .thenReturn(Optional.of(aeroportoGRU));
+        when(aeroportoRepository.save(any(Aeroporto.class))).thenReturn(aeroportoGRU);
+        aeroportoService.buscarPorIata("GRU");
+
+        // Act
+        aeroportoService.atualizar("GRU", aeroportoCGH);
+        Aeroporto resultado = aeroportoService.buscarPorIata("GRU");
+
+        // Assert - cache invalidado: a leitura devolve o nome novo
+        assertEquals("Aeroporto de Congonhas", resultado.getNome());
+        verify(aeroportoRepository, times(3)).findByCodigoIata("GRU");
+    }
+
+    @Test
+    void testBuscarPorIata_AposDeletar_DeveLancarExcecao() {
+        // Arrange
+        when(aeroportoRepository.findByCodigoIata("GRU"))
+            .thenReturn(Optional.of(aeroportoGRU))
+            .thenReturn(Optional.empty());
+        when(aeroportoRepository.existsByCodigoIata("GRU")).thenReturn(true);
+        aeroportoService.buscarPorIata("GRU");
+
+        // Act
+        aeroportoService.deletar("GRU");
+
+        // Assert
+        assertThrows(AeroportoNaoEncontradoException.class,
+            () -> aeroportoService.buscarPorIata("GRU"));
+    }
+
     @Test
     void testCriar_ComDadosValidos_DeveSalvarAeroporto() {
         // Arrange
@@ -264,6 +514,51 @@ public class AeroportoServiceTest {
         assertEquals("GRU", resultado.getCodigoIata());
     }
 
+    @Test
+    void testCriarEmLote_ModoFalhar_ComIataExistente_DeveLancarExcecao() {
+        // Arrange
+        Aeroporto novo = new Aeroporto("Novo", "NEW", "Cidade", "BR", 0.0, 0.0, 0.0);
+        when(aeroportoRepository.findByCodigoIataIn(anyCollection())).thenReturn(List.of(aeroportoGRU));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> aeroportoService.criarEmLote(Arrays.asList(novo, aeroportoGRU), ModoLote.FALHAR));
+        assertTrue(exception.getMessage().contains("GRU"));
+        verify(aeroportoRepository, never()).existsByCodigoIata(anyString());
+        verifyNoInteractions(aeroportoLoteRepository);
+    }
+
+    @Test
+    void testCriarEmLote_ModoUpsert_DeveAtualizarExistentesEInserirNovosEmUmaConsulta() {
+        // Arrange
+        Aeroporto novo = new Aeroporto("Novo", "new", "Cidade", "br", 0.0, 0.0, 0.0);
+        Aeroporto gruAlterado = new Aeroporto("Guarulhos Alterado", "GRU", "São Paulo", "BR", -23.4, -46.4, 750.0);
+        when(aeroportoRepository.findByCodigoIataIn(anyCollection())).thenReturn(List.of(aeroportoGRU));
+        when(revisaoRepository.proximaRevisao()).thenReturn(7L);
+
+        // Act
+        ResultadoLote resultado = aeroportoService.criarEmLote(Arrays.asList(novo, gruAlterado), ModoLote.UPSERT);
+
+        // Assert - o lote inteiro numa única revisão
+        assertEquals(List.of("NEW"), resultado.criados());
+        assertEquals(List.of("GRU"), resultado.atualizados());
+        assertEquals("Guarulhos Alterado", aeroportoGRU.getNome());
+        assertEquals(7L, novo.getRevisao());
+        assertEquals(7L, aeroportoGRU.getRevisao());
+        verify(revisaoRepository, times(1)).proximaRevisao();
+        verify(revisaoRepository).descartarRemocoes(List.of("NEW"));
+        verify(aeroportoRepository, times(1)).findByCodigoIataIn(anyCollection());
+        verify(aeroportoRepository, never()).existsByCodigoIata(anyString());
+        verify(aeroportoLoteRepository).inserirTodos(List.of(novo));
+    }
+
+    @Test
+    void testCriarEmLote_ComIataRepetido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class,
+            () -> aeroportoService.criarEmLote(Arrays.asList(aeroportoGRU, aeroportoGRU), ModoLote.UPSERT));
+        verifyNoInteractions(aeroportoLoteRepository);
+    }
+
     @Test
     void testAtualizar_ComDadosValidos_DeveAtualizarAeroporto() {
         // Arrange
@@ -290,17 +585,84 @@ public class AeroportoServiceTest {
         verify(aeroportoRepository, times(1)).save(aeroportoGRU);
     }
 
+    @Test
+    void testAtualizar_ComEtagDesatualizado_DeveLancarExcecaoSemSalvar() {
+        // Arrange - GRU já está na versão 3
+        aeroportoGRU.setVersao(3L);
+        when(aeroportoRepository.findByCodigoIata("GRU"))
+            .thenReturn(Optional.of(aeroportoGRU));
+
+        // Act & Assert
+        assertThrows(
+            VersaoDesatualizadaException.class,
+            () -> aeroportoService.atualizar("GRU", aeroportoCGH, "\"1-2\"")
+        );
+        verify(aeroportoRepository, never()).save(any(Aeroporto.class));
+    }
+
+    @Test
+    void testEtagPorIata_ComAeroportoEmCache_NaoDeveConsultarBanco() {
+        // Arrange
+        aeroportoGRU.setVersao(2L);
+        cacheIata.armazenar(aeroportoGRU, cacheIata.geracaoAtual());
+
+        // Act
+        String etag = aeroportoService.etagPorIata("gru");
+
+        // Assert
+        assertEquals("\"1-2\"", etag);
+        verifyNoInteractions(aeroportoRepository);
+    }
+
+    @Test
+    void testListarResumos_ComCamposDaProjecao_DeveUsarConsultaResumida() {
+        // Arrange
+        List<AeroportoResumo> resumos = List.of(new AeroportoResumo("GRU", "Guarulhos", "São Paulo"));
+        when(aeroportoRepository.findTodosResumos()).thenReturn(resumos);
+
+        // Act
+        List<AeroportoResumo> resultado = aeroportoService.listarResumos(List.of("codigoIata", " nome"));
+
+        // Assert
+        assertEquals(resumos, resultado);
+        verify(aeroportoRepository, never()).findAll();
+    }
+
+    @Test
+    void testListarResumos_ComCampoForaDaProjecao_DeveLancarExcecao() {
+        // Act & Assert
+        IllegalArgumentException excecao = assertThrows(
+            IllegalArgumentException.class,
+            () -> aeroportoService.listarResumos(List.of("codigoIata", "latitude"))
+        );
+        assertTrue(excecao.getMessage().contains("latitude"));
+        verifyNoInteractions(aeroportoRepository);
+    }
+
     @Test
     void testDeletar_QuandoAeroportoExiste_DeveDeletar() {
         // Arrange
         when(aeroportoRepository.existsByCodigoIata("GRU")).thenReturn(true);
+        when(revisaoRepository.proximaRevisao()).thenReturn(12L);
 
         // Act
         aeroportoService.deletar("GRU");
 
-        // Assert
+        // Assert - a remoção deixa uma lápide para a sincronização incremental
         verify(aeroportoRepository, times(1)).existsByCodigoIata("GRU");
         verify(aeroportoRepository, times(1)).deleteByCodigoIata("GRU");
+        verify(revisaoRepository, times(1)).registrarRemocao("GRU", 12L);
+    }
+
+    @Test
+    void testListarAlteracoes_ComSinceForaDoIntervalo_DeveLancarExcecao() {
+        // Arrange
+        when(revisaoRepository.revisaoAtual()).thenReturn(5L);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> aeroportoService.listarAlteracoes(-1L));
+        assertThrows(IllegalArgumentException.class, () -> aeroportoService.listarAlteracoes(6L));
+        verify(aeroportoRepository, never()).findByRevisaoGreaterThanOrderByRevisaoAscCodigoIataAsc(anyLong());
     }
 
     @Test
@@ -0,0 +1,129 @@
+package com.projeto.aeroportos.snapshot;
+
+import com.projeto.aeroportos.domain.Aeroporto;
+import com.projeto.aeroportos.evento.AeroportoAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotAeroportosTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private SnapshotAeroportos snapshot;
+
+    @BeforeEach
+    void setUp() {
+        arquivo = diretorio.resolve("aeroportos.snap");
+        snapshot = new SnapshotAeroportos(arquivo.toString());
+        snapshot.carregar(List.of(
+            aeroporto("Aeroporto Internacional de São Paulo/Guarulhos", "GRU", "São Paulo", "BR", -23.4356, -46.4731, 1L),
+            aeroporto("Aeroporto de Congonhas", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 2L),
+            aeroporto("Aeroporto Santos Dumont", "SDU", "Rio de Janeiro", "BR", -22.9105, -43.1631, 3L),
+            aeroporto("Aeroporto Internacional de Carrasco", "MVD", "Montevidéu", "UY", -34.8384, -56.0308, 4L)
+        ), 4);
+    }
+
+    @Test
+    void testBuscar_DeveLerTodosOsCamposDoArquivo() {
+        // Act
+        Aeroporto gru = snapshot.buscar("GRU");
+
+        // Assert
+        assertEquals("Aeroporto Internacional de São Paulo/Guarulhos", gru.getNome());
+        assertEquals("GRU", gru.getCodigoIata());
+        assertEquals("São Paulo", gru.getCidade());
+        assertEquals("BR", gru.getCodigoPaisIso());
+        assertEquals(-23.4356, gru.getLatitude());
+        assertEquals(-46.4731, gru.getLongitude());
+        assertEquals(100.0, gru.getAltitude());
+        assertEquals(1L, gru.getId());
+        assertEquals(1L, gru.getRevisao());
+        assertNull(snapshot.buscar("XXX"));
+        assertNull(snapshot.buscar("gr1"));
+    }
+
+    @Test
+    void testFiltrarPorCaixa_DeveRetornarOrdenadoPorIata() {
+        // Caixa cobrindo São Paulo e Rio
+        assertEquals(List.of("CGH", "GRU", "SDU"),
+                codigos(snapshot.filtrarPorCaixa(null, -24, -22, -47, -43)));
+        // Só Guarulhos e Congonhas
+        assertEquals(List.of("CGH", "GRU"),
+                codigos(snapshot.filtrarPorCaixa(null, -24, -23, -47, -46)));
+        // Com país
+        assertEquals(List.of("MVD"), codigos(snapshot.filtrarPorCaixa("UY", -40, 0, -60, -40)));
+        assertTrue(snapshot.filtrarPorCaixa("UY", -24, -22, -47, -43).isEmpty());
+    }
+
+    @Test
+    void testAoAlterar_DeveAtualizarORegistroEIgnorarEventoAntigo() {
+        // Act - renomeia GRU, remove CGH e recebe atrasado um evento anterior à remoção
+        snapshot.aoAlterar(AeroportoAlteradoEvent.atualizado(
+            aeroporto("Guarulhos", "GRU", "Guarulhos", "BR", -23.4356, -46.4731, 5L)));
+        snapshot.aoAlterar(AeroportoAlteradoEvent.removido("CGH", 6));
+        snapshot.aoAlterar(AeroportoAlteradoEvent.atualizado(
+            aeroporto("Congonhas Antigo", "CGH", "São Paulo", "BR", -23.6261, -46.6564, 5L)));
+
+        // Assert
+        assertEquals("Guarulhos", snapshot.buscar("GRU").getCidade());
+        assertNull(snapshot.buscar("CGH"));
+        assertEquals(List.of("GRU", "SDU"), codigos(snapshot.filtrarPorCaixa(null, -24, -22, -47, -43)));
+        assertEquals(6, snapshot.getRevisao());
+        assertEquals(3, snapshot.getQuantidade());
+    }
+
+    @Test
+    void testAoAlterar_ComAreaDeTextosCheia_DeveCompactarOArquivo() throws Exception {
+        // Arrange - cada atualização acrescenta o nome novo ao fim da área de textos
+        long tamanhoInicial = Files.size(arquivo);
+        String nomeLongo = "Aeroporto ".repeat(24);
+
+        // Act
+        for (int revisao = 5; revisao < 5 + SnapshotAeroportos.CAPACIDADE_TEXTOS_MINIMA / 200; revisao++) {
+            snapshot.aoAlterar(AeroportoAlteradoEvent.atualizado(
+                aeroporto(nomeLongo + revisao, "SDU", "Rio de Janeiro", "BR", -22.9105, -43.1631, revisao)));
+        }
+
+        // Assert - mesmo tamanho (compactou em vez de crescer) e dados preservados
+        assertEquals(tamanhoInicial, Files.size(arquivo));
+        assertTrue(snapshot.buscar("SDU").getNome().startsWith(nomeLongo));
+        assertEquals("Aeroporto de Congonhas", snapshot.buscar("CGH").getNome());
+        assertEquals(4, snapshot.getQuantidade());
+    }
+
+    @Test
+    void testAbrir_DeveReaproveitarOArquivoSoNaMesmaRevisao() {
+        // Act
+        SnapshotAeroportos reaberto = new SnapshotAeroportos(arquivo.toString());
+        boolean aberto = reaberto.abrir(4);
+
+        // Assert
+        assertTrue(aberto);
+        assertEquals("Aeroporto Santos Dumont", reaberto.buscar("SDU").getNome());
+        assertEquals(4, reaberto.getQuantidade());
+        assertFalse(new SnapshotAeroportos(arquivo.toString()).abrir(5));
+        assertFalse(new SnapshotAeroportos(diretorio.resolve("outro.snap").toString()).abrir(4));
+    }
+
+    private static Aeroporto aeroporto(String nome, String iata, String cidade, String pais,
+                                       double latitude, double longitude, long revisao) {
+        Aeroporto aeroporto = new Aeroporto(nome, iata, cidade, pais, latitude, longitude, 100.0);
+        aeroporto.setId(revisao);
+        aeroporto.setVersao(0L);
+        aeroporto.setRevisao(revisao);
+        return aeroporto;
+    }
+
+    private static List<String> codigos(List<Aeroporto> aeroportos) {
+        return aeroportos.stream().map(Aeroporto::getCodigoIata).toList();
+    }
+}